@@ -0,0 +1,46 @@
+package hello.advanced.benchmark;
+
+import hello.advanced.trace.TraceStatus;
+import hello.advanced.trace.logtrace.FieldLogTrace;
+import hello.advanced.trace.logtrace.FrameStackLogTrace;
+import hello.advanced.trace.logtrace.LogTrace;
+import hello.advanced.trace.logtrace.ThreadLocalLogTrace;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * controller -> service -> repository 와 같은 3단계 begin/end
+ * FieldLogTrace 는 동시성 문제가 있으므로 쓰레드마다 따로 만든다. (Scope.Thread)
+ */
+@State(Scope.Thread)
+public class LogTraceBenchmark {
+    private final LogTrace fieldLogTrace = new FieldLogTrace();
+    private final LogTrace threadLocalLogTrace = new ThreadLocalLogTrace();
+    private final LogTrace frameStackLogTrace = new FrameStackLogTrace();
+
+    @Benchmark
+    public TraceStatus fieldLogTrace() {
+        return trace(fieldLogTrace);
+    }
+
+    @Benchmark
+    public TraceStatus threadLocalLogTrace() {
+        return trace(threadLocalLogTrace);
+    }
+
+    @Benchmark
+    public TraceStatus frameStackLogTrace() {
+        return trace(frameStackLogTrace);
+    }
+
+    private TraceStatus trace(LogTrace trace) {
+        TraceStatus controller = trace.begin("OrderController.request()");
+        TraceStatus service = trace.begin("OrderService.orderItem()");
+        TraceStatus repository = trace.begin("OrderRepository.save()");
+        trace.end(repository);
+        trace.end(service);
+        trace.end(controller);
+        return controller;
+    }
+}
@@ -0,0 +1,34 @@
+package hello.advanced.benchmark;
+
+import hello.advanced.trace.callback.TraceTemplate;
+import hello.advanced.trace.logtrace.LogTrace;
+import hello.advanced.trace.logtrace.ThreadLocalLogTrace;
+import hello.advanced.trace.template.AbstractTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * OrderServiceV4(템플릿 메서드) 와 OrderServiceV5(템플릿 콜백) 의 호출 방식 비교
+ */
+@State(Scope.Benchmark)
+public class TemplateBenchmark {
+    private final LogTrace trace = new ThreadLocalLogTrace();
+    private final TraceTemplate traceTemplate = new TraceTemplate(trace);
+
+    @Benchmark
+    public String abstractTemplate() {
+        AbstractTemplate<String> template = new AbstractTemplate<>(trace) {
+            @Override
+            protected String call() {
+                return "ok";
+            }
+        };
+        return template.execute("OrderService.orderItem()");
+    }
+
+    @Benchmark
+    public String traceTemplate() {
+        return traceTemplate.execute("OrderService.orderItem()", () -> "ok");
+    }
+}
@@ -0,0 +1,150 @@
+package hello.advanced.benchmark;
+
+import hello.advanced.trace.callback.TraceTemplate;
+import hello.advanced.trace.logtrace.LogTrace;
+import hello.advanced.trace.logtrace.ThreadLocalLogTrace;
+import hello.advanced.trace.scoped.ScopedLogTrace;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 가상 쓰레드 requests 개가 동시에 controller -> service -> repository 템플릿을 실행한다.
+ * throughput : requests 개를 한꺼번에 띄우고 모두 끝날 때까지의 시간
+ * footprint  : 모든 요청이 repository 범위 안에 멈춰 있을 때 요청 하나당 늘어난 heap (gc 후 측정, 시간은 의미 없다)
+ * footprint 에는 가상 쓰레드 자체의 비용도 들어 있으므로 mode 사이의 차이만 본다.
+ * 가상 쓰레드가 필요하므로 JDK 21 이상에서 실행한다. scoped 는 ScopedValue 를 쓸 수 없으면 ThreadLocal 로 동작해
+ * ThreadLocal 끼리 비교하게 되므로 실행하지 않는다. (JDK 21~24 는 build.gradle 의 --enable-preview 필요)
+ * ./gradlew jmh -Pjmh.includes=VirtualThreadTraceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class VirtualThreadTraceBenchmark {
+    @Param({"100000"})
+    public int requests;
+
+    @Param({"thread-local", "scoped"})
+    public String mode;
+
+    private TraceTemplate template;
+    private ExecutorService executor;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public long heapBytesPerRequest; // 마지막 호출의 값
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            heapBytesPerRequest = 0;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        LogTrace trace;
+        if ("scoped".equals(mode)) {
+            ScopedLogTrace scopedTrace = new ScopedLogTrace();
+            if (!"ScopedValue".equals(scopedTrace.getBindingName())) {
+                throw new IllegalStateException("ScopedValue 를 쓸 수 없어 ThreadLocal 로 동작합니다. binding=" + scopedTrace.getBindingName());
+            }
+            trace = scopedTrace;
+        } else {
+            trace = new ThreadLocalLogTrace();
+        }
+        template = new TraceTemplate(trace);
+        executor = newVirtualThreadPerTaskExecutor();
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public void throughput() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(requests);
+        for (int i = 0; i < requests; i++) {
+            executor.execute(() -> {
+                request(() -> {
+                });
+                done.countDown();
+            });
+        }
+        done.await();
+    }
+
+    @Benchmark
+    public void footprint(Footprint footprint) throws InterruptedException {
+        CountDownLatch arrived = new CountDownLatch(requests);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(requests);
+
+        long before = usedHeap();
+        for (int i = 0; i < requests; i++) {
+            executor.execute(() -> {
+                request(() -> {
+                    arrived.countDown();
+                    awaitUninterruptibly(release);
+                });
+                done.countDown();
+            });
+        }
+        arrived.await();
+        long inFlight = usedHeap();
+        release.countDown();
+        done.await();
+
+        footprint.heapBytesPerRequest = (inFlight - before) / requests;
+    }
+
+    private void request(Runnable repository) {
+        template.execute("OrderController.request()", () ->
+                template.execute("OrderService.orderItem()", () ->
+                        template.execute("OrderRepository.save()", () -> {
+                            repository.run();
+                            return "ok";
+                        })));
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        while (true) {
+            try {
+                latch.await();
+                return;
+            } catch (InterruptedException e) {
+                // 끝까지 기다린다.
+            }
+        }
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("가상 쓰레드가 필요합니다. JDK 21 이상에서 실행하세요.", e);
+        }
+    }
+}
@@ -1,14 +1,62 @@
 package hello.advanced;
 
+import hello.advanced.trace.async.AsyncLogTrace;
+import hello.advanced.trace.async.OverflowPolicy;
+import hello.advanced.trace.journal.JournalLogTrace;
+import hello.advanced.trace.logtrace.FrameStackLogTrace;
 import hello.advanced.trace.logtrace.LogTrace;
 import hello.advanced.trace.logtrace.ThreadLocalLogTrace;
+import hello.advanced.trace.sampling.SamplingLogTrace;
+import hello.advanced.trace.scoped.ScopedLogTrace;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+
 @Configuration
 public class LogTraceConfig {
     @Bean
+    @ConditionalOnProperty(name = "trace.mode", havingValue = "thread-local", matchIfMissing = true)
     public LogTrace logTrace(){
         return new ThreadLocalLogTrace();
     }
+
+    @Bean
+    @ConditionalOnProperty(name = "trace.mode", havingValue = "frame-stack")
+    public FrameStackLogTrace frameStackLogTrace(){
+        return new FrameStackLogTrace();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "trace.mode", havingValue = "async")
+    public AsyncLogTrace asyncLogTrace(@Value("${trace.async.buffer-size:8192}") int bufferSize,
+                                       @Value("${trace.async.overflow-policy:DROP}") OverflowPolicy overflowPolicy,
+                                       @Value("${trace.async.sample-rate:10}") int sampleRate){
+        return new AsyncLogTrace(ThreadLocalLogTrace.withoutLogging(), bufferSize, overflowPolicy, sampleRate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "trace.mode", havingValue = "sampling")
+    public SamplingLogTrace samplingLogTrace(@Value("${trace.sampling.probability:0.01}") double probability,
+                                             @Value("${trace.sampling.tail-threshold-ms:500}") long tailThresholdMs,
+                                             @Value("${trace.sampling.max-spans:256}") int maxBufferedSpans){
+        return new SamplingLogTrace(probability, tailThresholdMs, maxBufferedSpans);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "trace.mode", havingValue = "scoped")
+    public ScopedLogTrace scopedLogTrace(){
+        return new ScopedLogTrace();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "trace.mode", havingValue = "journal")
+    public JournalLogTrace journalLogTrace(@Value("${trace.journal.dir:trace-journal}") String directory,
+                                           @Value("${trace.journal.segment-size-mb:64}") int segmentSizeMb,
+                                           @Value("${trace.journal.max-segments:8}") int maxSegments) throws IOException {
+        return new JournalLogTrace(Paths.get(directory), segmentSizeMb * 1024L * 1024, maxSegments);
+    }
 }
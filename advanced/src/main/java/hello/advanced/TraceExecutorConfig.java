@@ -0,0 +1,24 @@
+package hello.advanced;
+
+import hello.advanced.trace.logtrace.LogTrace;
+import hello.advanced.trace.logtrace.TraceContextHolder;
+import hello.advanced.trace.propagation.TraceExecutors;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+
+@Configuration
+public class TraceExecutorConfig {
+    /**
+     * v5 의 병렬 호출에 쓴다. 작업 쓰레드의 span 이 호출한 쪽 span 아래에 이어진다.
+     * FrameStackLogTrace 는 TraceId 를 넘길 수 없으므로 작업 쓰레드의 span 이 새 요청으로 남는다.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService traceExecutorService(LogTrace logTrace){
+        if (logTrace instanceof TraceContextHolder) {
+            return TraceExecutors.virtualThreadPerTask((TraceContextHolder) logTrace);
+        }
+        return TraceExecutors.newVirtualThreadPerTaskExecutor();
+    }
+}
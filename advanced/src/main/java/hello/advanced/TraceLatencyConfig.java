@@ -0,0 +1,21 @@
+package hello.advanced;
+
+import hello.advanced.trace.latency.LatencyLogTracePostProcessor;
+import hello.advanced.trace.latency.SpanLatencyRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "trace.latency", havingValue = "on")
+public class TraceLatencyConfig {
+    @Bean
+    public static SpanLatencyRegistry spanLatencyRegistry(){
+        return new SpanLatencyRegistry();
+    }
+
+    @Bean
+    public static LatencyLogTracePostProcessor latencyLogTracePostProcessor(SpanLatencyRegistry spanLatencyRegistry){
+        return new LatencyLogTracePostProcessor(spanLatencyRegistry);
+    }
+}
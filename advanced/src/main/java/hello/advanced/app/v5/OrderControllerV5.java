@@ -6,6 +6,8 @@ import hello.advanced.trace.logtrace.LogTrace;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Arrays;
+
 @RestController
 public class OrderControllerV5 {
     private final OrderServiceV5 orderService;
@@ -23,4 +25,13 @@ public class OrderControllerV5 {
             return "ok";
         });
     }
+
+    // /v5/request-all?itemId=a&itemId=b
+    @GetMapping("/v5/request-all")
+    public String requestAll(String[] itemId) {
+        return template.execute("OrderController.requestAll()", () -> {
+            orderService.orderItems(Arrays.asList(itemId));
+            return "ok";
+        });
+    }
 }
@@ -5,13 +5,19 @@ import hello.advanced.trace.callback.TraceTemplate;
 import hello.advanced.trace.logtrace.LogTrace;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
 @Service
 public class OrderServiceV5 {
     private final OrderRepositoryV5 orderRepository;
     private final TraceTemplate template;
-    public OrderServiceV5(OrderRepositoryV5 orderRepository, LogTrace trace) {
+    private final ExecutorService executorService;
+    public OrderServiceV5(OrderRepositoryV5 orderRepository, LogTrace trace, ExecutorService traceExecutorService) {
         this.orderRepository = orderRepository;
         this.template = new TraceTemplate(trace);
+        this.executorService = traceExecutorService;
     }
     public void orderItem(String itemId){
         template.execute("OrderService.orderItem()", (TraceCallback<Void>) () -> {
@@ -19,4 +25,17 @@ public class OrderServiceV5 {
             return null;
         });
     }
+
+    /**
+     * 상품마다 orderRepository.save() 를 병렬로 호출한다. (traceExecutorService 가 TraceId 를 넘긴다)
+     */
+    public void orderItems(List<String> itemIds){
+        template.execute("OrderService.orderItems()", (TraceCallback<Void>) () -> {
+            CompletableFuture<?>[] futures = itemIds.stream()
+                    .map(itemId -> CompletableFuture.runAsync(() -> orderRepository.save(itemId), executorService))
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(futures).join();
+            return null;
+        });
+    }
 }
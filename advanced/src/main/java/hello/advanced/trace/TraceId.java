@@ -11,7 +11,10 @@ public class TraceId {
         this.level = 0;
     }
 
-    private TraceId(String id, int level) {
+    /**
+     * id 를 새로 만들지 않는다. TraceId 를 재사용하는 하위 클래스(FrameStackLogTrace)용
+     */
+    protected TraceId(String id, int level) {
         this.id = id;
         this.level = level;
     }
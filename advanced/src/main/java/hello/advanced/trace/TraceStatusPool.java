@@ -0,0 +1,44 @@
+package hello.advanced.trace;
+
+/**
+ * 쓰레드마다 다 쓴 TraceStatus 를 모아두었다가 다음 begin() 에서 재사용한다.
+ * release() 한 TraceStatus 는 다른 span 에서 다시 쓰이므로 더 이상 참조하면 안된다.
+ */
+public class TraceStatusPool {
+    private final int maxPooledPerThread;
+    private final ThreadLocal<Pool> poolHolder;
+
+    public TraceStatusPool(int maxPooledPerThread) {
+        this.maxPooledPerThread = maxPooledPerThread;
+        this.poolHolder = ThreadLocal.withInitial(() -> new Pool(this.maxPooledPerThread));
+    }
+
+    public TraceStatus acquire(TraceId traceId, long startTimeNs, String message) {
+        Pool pool = poolHolder.get();
+        if (pool.size == 0) {
+            return new TraceStatus(traceId, startTimeNs, message);
+        }
+        TraceStatus status = pool.statuses[--pool.size];
+        pool.statuses[pool.size] = null;
+        status.reset(traceId, startTimeNs, message);
+        return status;
+    }
+
+    public void release(TraceStatus status) {
+        Pool pool = poolHolder.get();
+        if (pool.size == pool.statuses.length) {
+            return; // 가득 차면 GC 에 맡긴다.
+        }
+        status.reset(null, 0, null);
+        pool.statuses[pool.size++] = status;
+    }
+
+    private static class Pool {
+        private final TraceStatus[] statuses;
+        private int size;
+
+        Pool(int capacity) {
+            this.statuses = new TraceStatus[capacity];
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package hello.advanced.trace;
+
+public abstract class TraceTime {
+
+    /**
+     * 경과 시간(ns)을 ms 단위 소수점 3자리 문자열로 바꾼다. (예: 1234567 -> "1.234")
+     */
+    public static String toMillis(long nanos) {
+        return appendMillis(new StringBuilder(12), nanos).toString();
+    }
+
+    public static StringBuilder appendMillis(StringBuilder sb, long nanos) {
+        long micros = Math.max(nanos, 0) / 1000;
+        long fraction = micros % 1000;
+        sb.append(micros / 1000).append('.');
+        if (fraction < 100) {
+            sb.append('0');
+        }
+        if (fraction < 10) {
+            sb.append('0');
+        }
+        return sb.append(fraction);
+    }
+}
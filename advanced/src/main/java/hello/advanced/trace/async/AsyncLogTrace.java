@@ -0,0 +1,217 @@
+package hello.advanced.trace.async;
+
+import hello.advanced.trace.TraceId;
+import hello.advanced.trace.TraceStatus;
+import hello.advanced.trace.TraceTime;
+import hello.advanced.trace.callback.TraceCallback;
+import hello.advanced.trace.logtrace.LogTrace;
+import hello.advanced.trace.logtrace.TraceContextHolder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 요청 쓰레드는 이벤트를 링 버퍼에 넣기만 하고, 로그 포맷팅과 출력은 별도의 쓰레드가 모아서 처리한다.
+ * TraceId 와 레벨은 감싼 LogTrace 가 관리하고, 여기서는 그 앞뒤로 이벤트만 남긴다. 로그 형식은 ThreadLocalLogTrace 와 같다.
+ * 감싼 LogTrace 의 출력은 그대로 나가므로 ThreadLocalLogTrace.withoutLogging() 처럼 출력하지 않는 LogTrace 를 넘긴다.
+ */
+@Slf4j
+public class AsyncLogTrace implements LogTrace, TraceContextHolder, AutoCloseable {
+    private static final String START_PREFIX = "-->";
+    private static final String COMPLETE_PREFIX = "<--";
+    private static final String EX_PREFIX = "<X-";
+
+    private static final int BATCH_SIZE = 256;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+
+    private final LogTrace delegate;
+    private final TraceEventRingBuffer buffer;
+    private final OverflowPolicy overflowPolicy;
+    private final int sampleRate;
+    private final int sampleThreshold;
+
+    private final LongAdder publishedCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder(); // close() 이후 들어온 이벤트
+    private final AtomicInteger inFlight = new AtomicInteger(); // 자리를 잡고 아직 발행하지 않은 publish 수
+    private final AtomicLong sampleCounter = new AtomicLong();
+
+    private final StringBuilder line = new StringBuilder(); // writer 쓰레드 전용
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AsyncLogTrace(LogTrace delegate, int bufferSize, OverflowPolicy overflowPolicy) {
+        this(delegate, bufferSize, overflowPolicy, 10);
+    }
+
+    public AsyncLogTrace(LogTrace delegate, int bufferSize, OverflowPolicy overflowPolicy, int sampleRate) {
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException("sampleRate 는 1 이상이어야 합니다. sampleRate=" + sampleRate);
+        }
+        this.delegate = delegate;
+        this.buffer = new TraceEventRingBuffer(bufferSize);
+        this.overflowPolicy = overflowPolicy;
+        this.sampleRate = sampleRate;
+        this.sampleThreshold = bufferSize - bufferSize / 4;
+        this.writer = new Thread(this::writeLoop, "log-trace-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public TraceStatus begin(String message) {
+        TraceStatus status = delegate.begin(message);
+        publish(TraceEvent.BEGIN, status.getTraceId(), message, status.getStartTimeNs(), status.getStartTimeNs(), null);
+        return status;
+    }
+
+    // 감싼 LogTrace 가 status 를 재사용할 수 있으므로 이벤트를 먼저 남기고 넘긴다.
+    @Override
+    public void end(TraceStatus status) {
+        publish(TraceEvent.END, status.getTraceId(), status.getMessage(), status.getStartTimeNs(), System.nanoTime(), null);
+        delegate.end(status);
+    }
+
+    @Override
+    public void exception(TraceStatus status, Exception e) {
+        publish(TraceEvent.EXCEPTION, status.getTraceId(), status.getMessage(), status.getStartTimeNs(), System.nanoTime(), e);
+        delegate.exception(status, e);
+    }
+
+    @Override
+    public <T> T callInScope(TraceStatus status, TraceCallback<T> callback) {
+        return delegate.callInScope(status, callback);
+    }
+
+    private void publish(int type, TraceId traceId, String message, long startTimeNs, long endTimeNs, Exception e) {
+        // inFlight 를 먼저 올리고 running 을 본다. writer 는 running=false 이후 inFlight 가 0 이 될 때까지 비우므로
+        // 여기서 running 을 true 로 본 이벤트는 반드시 출력된다.
+        inFlight.incrementAndGet();
+        try {
+            if (!running) {
+                rejectedCount.increment();
+                return;
+            }
+            long position = claim();
+            if (position < 0) {
+                droppedCount.increment();
+                return;
+            }
+            buffer.get(position).set(type, traceId.getId(), traceId.getLevel(), message, startTimeNs, endTimeNs, e);
+            buffer.publish(position);
+            publishedCount.increment();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private long claim() {
+        switch (overflowPolicy) {
+            case SAMPLE:
+                if (buffer.size() >= sampleThreshold && sampleCounter.incrementAndGet() % sampleRate != 0) {
+                    return -1;
+                }
+                return buffer.tryClaim();
+            case BLOCK:
+                long position;
+                while ((position = buffer.tryClaim()) < 0 && running) {
+                    LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                }
+                return position;
+            default:
+                return buffer.tryClaim();
+        }
+    }
+
+    private void writeLoop() {
+        while (running) {
+            if (buffer.drain(this::write, BATCH_SIZE) == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        // 종료 전에 진행 중인 publish 가 끝나기를 기다리며 남은 이벤트를 모두 출력
+        int pending;
+        int drained;
+        do {
+            pending = inFlight.get();
+            drained = buffer.drain(this::write, BATCH_SIZE);
+            if (drained == 0 && pending > 0) {
+                Thread.onSpinWait();
+            }
+        } while (drained > 0 || pending > 0);
+        long rejected = rejectedCount.sum();
+        if (rejected > 0) {
+            log.warn("close() 이후 기록하지 못한 trace 이벤트 {}개", rejected);
+        }
+    }
+
+    private void write(TraceEvent event) {
+        line.setLength(0);
+        line.append('[').append(event.traceId).append("] ");
+        if (event.type == TraceEvent.BEGIN) {
+            appendSpace(START_PREFIX, event.level);
+            line.append(event.message);
+        } else {
+            appendSpace(event.type == TraceEvent.END ? COMPLETE_PREFIX : EX_PREFIX, event.level);
+            line.append(event.message)
+                    .append(" time=");
+            TraceTime.appendMillis(line, event.endTimeNs - event.startTimeNs).append("ms");
+            if (event.type == TraceEvent.EXCEPTION) {
+                line.append(" ex=").append(event.exceptionClass.getName());
+                if (event.exceptionMessage != null) {
+                    line.append(": ").append(event.exceptionMessage);
+                }
+            }
+        }
+        log.info("{}", line);
+    }
+
+    private void appendSpace(String prefix, int level) {
+        for (int i = 0; i < level; i++) {
+            line.append((i == level - 1) ? "|" : "|   ");
+        }
+        if (level > 0) {
+            line.append(prefix);
+        }
+    }
+
+    @Override
+    public TraceId getTraceId() {
+        return delegate instanceof TraceContextHolder ? ((TraceContextHolder) delegate).getTraceId() : null;
+    }
+
+    @Override
+    public void setTraceId(TraceId traceId) {
+        if (delegate instanceof TraceContextHolder) {
+            ((TraceContextHolder) delegate).setTraceId(traceId);
+        }
+    }
+
+    public long getPublishedCount() {
+        return publishedCount.sum();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public int getPendingCount() {
+        return buffer.size();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+}
@@ -0,0 +1,19 @@
+package hello.advanced.trace.async;
+
+/**
+ * 링 버퍼가 가득 찼을 때의 처리 방식
+ */
+public enum OverflowPolicy {
+    /**
+     * 새 이벤트를 버린다.
+     */
+    DROP,
+    /**
+     * 버퍼가 3/4 이상 차면 N 개 중 1 개만 남기고, 가득 차면 버린다.
+     */
+    SAMPLE,
+    /**
+     * 빈 자리가 생길 때까지 요청 쓰레드가 기다린다.
+     */
+    BLOCK
+}
@@ -0,0 +1,37 @@
+package hello.advanced.trace.async;
+
+/**
+ * 링 버퍼의 슬롯. 슬롯은 재사용되므로 소비 쓰레드는 처리하는 동안에만 값을 읽는다.
+ */
+class TraceEvent {
+    static final int BEGIN = 0;
+    static final int END = 1;
+    static final int EXCEPTION = 2;
+
+    int type;
+    String traceId;
+    int level;
+    String message;
+    long startTimeNs;
+    long endTimeNs;
+    Class<?> exceptionClass;
+    String exceptionMessage;
+
+    void set(int type, String traceId, int level, String message, long startTimeNs, long endTimeNs, Exception e) {
+        this.type = type;
+        this.traceId = traceId;
+        this.level = level;
+        this.message = message;
+        this.startTimeNs = startTimeNs;
+        this.endTimeNs = endTimeNs;
+        this.exceptionClass = e == null ? null : e.getClass();
+        this.exceptionMessage = e == null ? null : e.getMessage();
+    }
+
+    void clear() {
+        traceId = null;
+        message = null;
+        exceptionClass = null;
+        exceptionMessage = null;
+    }
+}
@@ -0,0 +1,93 @@
+package hello.advanced.trace.async;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * 여러 요청 쓰레드가 쓰고 하나의 소비 쓰레드가 읽는 크기 고정 링 버퍼 (lock-free)
+ * 슬롯마다 sequence 를 두고 CAS 로 자리를 잡는다.
+ */
+class TraceEventRingBuffer {
+    private final TraceEvent[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head; // 소비 쓰레드만 쓴다.
+
+    TraceEventRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity 는 2의 거듭제곱이어야 합니다. capacity=" + capacity);
+        }
+        this.slots = new TraceEvent[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new TraceEvent();
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 자리를 잡으면 위치를, 가득 찼으면 -1 을 반환한다.
+     */
+    long tryClaim() {
+        long position = tail.get();
+        while (true) {
+            long sequence = sequences.get(index(position));
+            long diff = sequence - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+                position = tail.get();
+            } else if (diff < 0) {
+                return -1;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    TraceEvent get(long position) {
+        return slots[index(position)];
+    }
+
+    void publish(long position) {
+        sequences.lazySet(index(position), position + 1);
+    }
+
+    /**
+     * 발행된 이벤트를 최대 limit 개까지 순서대로 처리하고 슬롯을 돌려준다.
+     */
+    int drain(Consumer<TraceEvent> handler, int limit) {
+        long current = head;
+        int count = 0;
+        while (count < limit) {
+            int index = index(current);
+            if (sequences.get(index) != current + 1) {
+                break;
+            }
+            TraceEvent event = slots[index];
+            handler.accept(event);
+            event.clear();
+            sequences.lazySet(index, current + slots.length);
+            current++;
+            count++;
+        }
+        head = current;
+        return count;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    private int index(long position) {
+        return (int) (position & mask);
+    }
+}
@@ -0,0 +1,68 @@
+package hello.advanced.trace.callback;
+
+import hello.advanced.trace.TraceId;
+import hello.advanced.trace.TraceStatus;
+import hello.advanced.trace.logtrace.LogTrace;
+import hello.advanced.trace.logtrace.TraceContextHolder;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * 콜백이 반환한 CompletionStage 가 끝날 때 span 을 닫는다.
+ * 호출한 쓰레드는 기다리지 않고 바로 begin() 이전의 깊이로 돌아가고,
+ * span 은 stage 를 완료시킨 쓰레드에서 자신의 TraceId 로 닫히므로 완료 순서가 뒤섞여도 깊이가 어긋나지 않는다.
+ * (Mono 등은 toFuture() 로 넘기면 된다.)
+ */
+public class AsyncTraceTemplate {
+    private final LogTrace trace;
+    private final TraceContextHolder holder;
+
+    public AsyncTraceTemplate(LogTrace trace) {
+        if (!(trace instanceof TraceContextHolder)) {
+            throw new IllegalArgumentException("TraceContextHolder 를 구현한 LogTrace 가 필요합니다. trace=" + trace.getClass());
+        }
+        this.trace = trace;
+        this.holder = (TraceContextHolder) trace;
+    }
+
+    public <T> CompletionStage<T> execute(String message, TraceCallback<? extends CompletionStage<T>> callback) {
+        TraceId parentId = holder.getTraceId();
+        TraceStatus status = null;
+        CompletionStage<T> stage;
+        try {
+            status = trace.begin(message);
+
+            // 로직 호출
+            stage = callback.call();
+        } catch (Exception e) {
+            trace.exception(status, e);
+            throw e;
+        }
+        if (stage == null) {
+            NullPointerException e = new NullPointerException("콜백이 CompletionStage 대신 null 을 반환했습니다. message=" + message);
+            trace.exception(status, e);
+            holder.setTraceId(parentId);
+            throw e;
+        }
+
+        holder.setTraceId(parentId);
+        TraceStatus asyncStatus = status;
+        return stage.whenComplete((result, ex) -> complete(asyncStatus, ex));
+    }
+
+    private void complete(TraceStatus status, Throwable ex) {
+        holder.runWithTraceId(status.getTraceId(), () -> {
+            if (ex == null) {
+                trace.end(status);
+            } else {
+                trace.exception(status, toException(ex));
+            }
+        });
+    }
+
+    private Exception toException(Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        return cause instanceof Exception ? (Exception) cause : new CompletionException(cause);
+    }
+}
@@ -14,8 +14,8 @@ public class TraceTemplate {
         try {
             status = trace.begin(message);
 
-            // 로직 호출
-            T result = callback.call();
+            // 로직 호출, ScopedLogTrace 는 콜백이 실행되는 동안만 TraceId 를 묶어 둔다.
+            T result = trace.callInScope(status, callback);
 
             trace.end(status);
             return result;
@@ -2,6 +2,7 @@ package hello.advanced.trace.hellotrace;
 
 import hello.advanced.trace.TraceId;
 import hello.advanced.trace.TraceStatus;
+import hello.advanced.trace.TraceTime;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -14,10 +15,10 @@ public class HelloTraceV1 {
 
     public TraceStatus begin(String message){
         TraceId traceId = new TraceId();
-        Long startTimeMs = System.currentTimeMillis();
+        long startTimeNs = System.nanoTime();
         // 로그 출력
         log.info("[{}] {}{}", traceId.getId(), addSpace(START_PREFIX, traceId.getLevel()), message);
-        return new TraceStatus(traceId, startTimeMs, message);
+        return new TraceStatus(traceId, startTimeNs, message);
     }
 
     public void end(TraceStatus status){
@@ -29,13 +30,12 @@ public class HelloTraceV1 {
     }
 
     private void complete(TraceStatus status, Exception e){
-        Long stopTimeMs = System.currentTimeMillis();
-        Long resultTimeMs = stopTimeMs - status.getStartTimeMs();
+        long resultTimeNs = System.nanoTime() - status.getStartTimeNs();
         TraceId traceId = status.getTraceId();
         if(e == null){
-            log.info("[{}] {}{} time={}ms", traceId.getId(), addSpace(COMPLETE_PREFIX, traceId.getLevel()), status.getMessage(), resultTimeMs);
+            log.info("[{}] {}{} time={}ms", traceId.getId(), addSpace(COMPLETE_PREFIX, traceId.getLevel()), status.getMessage(), TraceTime.toMillis(resultTimeNs));
         }else {
-            log.info("[{}] {}{} time={}ms ex={}", traceId.getId(), addSpace(EX_PREFIX, traceId.getLevel()), status.getMessage(), resultTimeMs, e.toString());
+            log.info("[{}] {}{} time={}ms ex={}", traceId.getId(), addSpace(EX_PREFIX, traceId.getLevel()), status.getMessage(), TraceTime.toMillis(resultTimeNs), e.toString());
         }
     }
 
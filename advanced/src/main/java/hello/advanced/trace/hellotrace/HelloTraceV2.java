@@ -2,6 +2,7 @@ package hello.advanced.trace.hellotrace;
 
 import hello.advanced.trace.TraceId;
 import hello.advanced.trace.TraceStatus;
+import hello.advanced.trace.TraceTime;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -14,17 +15,17 @@ public class HelloTraceV2 {
     private final String EX_PREFIX = "<X-";
     public TraceStatus begin(String message){
         TraceId traceId = new TraceId();
-        Long startTimeMs = System.currentTimeMillis();
+        long startTimeNs = System.nanoTime();
         log.info("[{}] {}{}", traceId.getId(), addSpace(START_PREFIX, traceId.getLevel()), message);
-        return new TraceStatus(traceId, startTimeMs, message);
+        return new TraceStatus(traceId, startTimeNs, message);
     }
 
     // V2에서 추가
     public TraceStatus beginSync(TraceId beforeTraceId, String message){
         TraceId nextId = beforeTraceId.createNextId();
-        Long startTimeMs = System.currentTimeMillis();
+        long startTimeNs = System.nanoTime();
         log.info("[{}] {}{}", nextId.getId(), addSpace(START_PREFIX, nextId.getLevel()), message);
-        return new TraceStatus(nextId, startTimeMs, message);
+        return new TraceStatus(nextId, startTimeNs, message);
     }
 
     public void end(TraceStatus status){
@@ -36,13 +37,12 @@ public class HelloTraceV2 {
     }
 
     private void complete(TraceStatus status, Exception e){
-        Long stopTimeMs = System.currentTimeMillis();
-        Long resultTimeMs = stopTimeMs - status.getStartTimeMs();
+        long resultTimeNs = System.nanoTime() - status.getStartTimeNs();
         TraceId traceId = status.getTraceId();
         if(e == null){
-            log.info("[{}] {}{} time={}ms", traceId.getId(), addSpace(COMPLETE_PREFIX, traceId.getLevel()), status.getMessage(), resultTimeMs);
+            log.info("[{}] {}{} time={}ms", traceId.getId(), addSpace(COMPLETE_PREFIX, traceId.getLevel()), status.getMessage(), TraceTime.toMillis(resultTimeNs));
         }else {
-            log.info("[{}] {}{} time={}ms ex={}", traceId.getId(), addSpace(EX_PREFIX, traceId.getLevel()), status.getMessage(), resultTimeMs, e.toString());
+            log.info("[{}] {}{} time={}ms ex={}", traceId.getId(), addSpace(EX_PREFIX, traceId.getLevel()), status.getMessage(), TraceTime.toMillis(resultTimeNs), e.toString());
         }
     }
 
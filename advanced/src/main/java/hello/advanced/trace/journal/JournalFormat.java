@@ -0,0 +1,78 @@
+package hello.advanced.trace.journal;
+
+/**
+ * 세그먼트 파일 레이아웃. 모든 값은 big-endian 이다.
+ * <pre>
+ * header (64 byte) : magic(4) version(4) recordSize(4) segmentIndex(4) epochMillis(8) nanoTime(8) runId(8) 여분(24)
+ * record (32 byte) : traceId(8, ASCII) startNs(8) endNs(8) nameId(4) depth(2) status(1) 여분(1)
+ * </pre>
+ * status 는 레코드의 마지막에 쓰므로 0 이면 아직 다 쓰지 않은 칸이다.
+ * startNs/endNs 는 System.nanoTime() 이라 같은 JVM 실행(runId) 안에서만 비교할 수 있다.
+ * 헤더의 epochMillis/nanoTime 은 같은 순간에 잰 값으로, 이 둘로 벽시계 시간으로 바꾼다.
+ * version 1 은 header 가 32 byte 이고 runId 가 없다.
+ */
+abstract class JournalFormat {
+    static final int MAGIC = 0x544A524E; // "TJRN"
+    static final int VERSION = 2;
+
+    static final int RECORD_SIZE = 32;
+    static final int HEADER_SIZE = RECORD_SIZE * 2;
+    static final int V1_HEADER_SIZE = RECORD_SIZE;
+
+    static final int HEADER_VERSION = 4;
+    static final int HEADER_RECORD_SIZE = 8;
+    static final int HEADER_SEGMENT_INDEX = 12;
+    static final int HEADER_EPOCH_MILLIS = 16;
+    static final int HEADER_NANO_TIME = 24;
+    static final int HEADER_RUN_ID = 32;
+
+    static final int TRACE_ID = 0;
+    static final int START_NS = 8;
+    static final int END_NS = 16;
+    static final int NAME_ID = 24;
+    static final int DEPTH = 28;
+    static final int STATUS = 30;
+
+    static final byte STATUS_EMPTY = 0;
+    static final byte STATUS_OK = 1;
+    static final byte STATUS_EXCEPTION = 2;
+
+    static final String SEGMENT_PREFIX = "trace-";
+    static final String SEGMENT_SUFFIX = ".seg";
+    static final String DICTIONARY_FILE = "names.dict";
+
+    static String segmentName(long index) {
+        return String.format("%s%08d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX);
+    }
+
+    static boolean isSegment(String fileName) {
+        return fileName.startsWith(SEGMENT_PREFIX) && fileName.endsWith(SEGMENT_SUFFIX);
+    }
+
+    static long segmentIndex(String fileName) {
+        return Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * traceId 는 8자리라 8 byte 에 그대로 담는다. (넘치는 글자는 버린다)
+     */
+    static long encodeTraceId(String id) {
+        long encoded = 0;
+        for (int i = 0; i < 8; i++) {
+            encoded = (encoded << 8) | (i < id.length() ? (id.charAt(i) & 0xFF) : 0);
+        }
+        return encoded;
+    }
+
+    static String decodeTraceId(long encoded) {
+        StringBuilder sb = new StringBuilder(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            int c = (int) (encoded >>> shift) & 0xFF;
+            if (c == 0) {
+                break;
+            }
+            sb.append((char) c);
+        }
+        return sb.toString();
+    }
+}
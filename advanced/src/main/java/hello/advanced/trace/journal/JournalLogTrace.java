@@ -0,0 +1,246 @@
+package hello.advanced.trace.journal;
+
+import hello.advanced.trace.TraceId;
+import hello.advanced.trace.TraceStatus;
+import hello.advanced.trace.logtrace.LogTrace;
+import hello.advanced.trace.logtrace.TraceContextHolder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import static hello.advanced.trace.journal.JournalFormat.*;
+
+/**
+ * 텍스트 로그 대신 span 하나를 32 byte 바이너리 레코드로 메모리 매핑 파일에 남긴다.
+ * 세그먼트가 차면 다음 파일로 넘어가고, maxSegments 개를 넘는 오래된 파일은 지운다.
+ * 다음 세그먼트는 미리 만들어 두고, 파일 생성/force()/삭제는 모두 백그라운드 쓰레드(trace-journal)에서 한다.
+ * 기록된 내용은 TraceJournalReader 로 읽는다.
+ */
+@Slf4j
+public class JournalLogTrace implements LogTrace, TraceContextHolder, AutoCloseable {
+    private final ThreadLocal<TraceId> traceIdHolder = new ThreadLocal<>();
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final long runId;
+    private final SpanNameDictionary dictionary;
+    private volatile JournalSegment current;
+    private volatile CompletableFuture<JournalSegment> spare; // 다음 세그먼트
+
+    private final ExecutorService housekeeper = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "trace-journal");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final LongAdder writtenCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+
+    /**
+     * @param segmentSize 세그먼트 하나의 byte 수, 파일 하나를 통째로 매핑하므로 Integer.MAX_VALUE 를 넘을 수 없다.
+     */
+    public JournalLogTrace(Path directory, long segmentSize, int maxSegments) throws IOException {
+        if (segmentSize < HEADER_SIZE + RECORD_SIZE || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("segmentSize 는 " + (HEADER_SIZE + RECORD_SIZE) + " ~ " + Integer.MAX_VALUE + " byte 여야 합니다. segmentSize=" + segmentSize);
+        }
+        if (maxSegments < 1) {
+            throw new IllegalArgumentException("maxSegments 는 1 이상이어야 합니다. maxSegments=" + maxSegments);
+        }
+        Files.createDirectories(directory);
+        this.directory = directory;
+        this.segmentSize = (int) (segmentSize - segmentSize % RECORD_SIZE);
+        this.maxSegments = maxSegments;
+        this.dictionary = new SpanNameDictionary(directory.resolve(DICTIONARY_FILE));
+        try {
+            this.runId = nextSegmentIndex(directory);
+            this.current = JournalSegment.create(directory, runId, this.segmentSize, runId);
+        } catch (IOException | RuntimeException e) {
+            try {
+                dictionary.close();
+            } catch (IOException closeFailure) {
+                e.addSuppressed(closeFailure);
+            }
+            throw e;
+        }
+        this.spare = prepare(runId + 1);
+    }
+
+    // 재시작하면 기존 파일 뒤에 이어서 번호를 붙인다.
+    private static long nextSegmentIndex(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(JournalFormat::isSegment)
+                    .mapToLong(JournalFormat::segmentIndex)
+                    .max()
+                    .orElse(-1) + 1;
+        }
+    }
+
+    @Override
+    public TraceStatus begin(String message) {
+        syncTraceId();
+        return new TraceStatus(traceIdHolder.get(), System.nanoTime(), message);
+    }
+
+    private void syncTraceId() {
+        TraceId traceId = traceIdHolder.get();
+        if (traceId == null) {
+            traceIdHolder.set(new TraceId());
+        } else {
+            traceIdHolder.set(traceId.createNextId());
+        }
+    }
+
+    @Override
+    public void end(TraceStatus status) {
+        complete(status, STATUS_OK);
+    }
+
+    @Override
+    public void exception(TraceStatus status, Exception e) {
+        complete(status, STATUS_EXCEPTION);
+    }
+
+    private void complete(TraceStatus status, byte result) {
+        long endTimeNs = System.nanoTime();
+        TraceId traceId = status.getTraceId();
+        append(encodeTraceId(traceId.getId()), status.getStartTimeNs(), endTimeNs,
+                dictionary.idOf(status.getMessage()), traceId.getLevel(), result);
+        releaseTraceId();
+    }
+
+    private void append(long traceId, long startTimeNs, long endTimeNs, int nameId, int depth, byte result) {
+        while (true) {
+            JournalSegment segment = current;
+            if (segment == null) {
+                droppedCount.increment(); // 닫혔거나 다음 세그먼트를 만들지 못함
+                return;
+            }
+            long offset = segment.reserve();
+            if (offset >= 0) {
+                segment.write(offset, traceId, startTimeNs, endTimeNs, nameId, depth, result);
+                writtenCount.increment();
+                return;
+            }
+            if (offset == JournalSegment.ROLL) {
+                roll(segment);
+            } else {
+                while (current == segment) {
+                    Thread.onSpinWait();
+                }
+            }
+        }
+    }
+
+    /**
+     * 세그먼트를 처음 넘친 쓰레드 하나만 호출한다.
+     * 미리 만들어 둔 세그먼트로 바꾸기만 하므로 다른 쓰레드가 기다리는 시간이 짧다.
+     * (예비 세그먼트가 아직 없을 때만 만들어질 때까지 기다린다)
+     */
+    private void roll(JournalSegment full) {
+        JournalSegment next;
+        try {
+            next = spare.join();
+        } catch (CompletionException e) {
+            log.warn("trace journal 세그먼트 생성 실패, 이후 기록은 버린다. index={}", full.getIndex() + 1, e.getCause());
+            current = null;
+            housekeeper.execute(full::force);
+            return;
+        }
+        // 새 세그먼트가 곧바로 차서 다시 roll() 이 불려도 다음 예비 세그먼트를 받도록 spare 를 먼저 바꾼다.
+        spare = prepare(next.getIndex() + 1);
+        current = next;
+        long expiredIndex = next.getIndex() - maxSegments;
+        housekeeper.execute(() -> {
+            // 다른 쓰레드는 이미 새 세그먼트에 쓰고 있으므로 요청 쓰레드 밖에서 디스크로 내린다.
+            full.force();
+            if (expiredIndex >= 0) {
+                deleteSegment(expiredIndex);
+            }
+        });
+    }
+
+    private CompletableFuture<JournalSegment> prepare(long index) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return JournalSegment.create(directory, index, segmentSize, runId);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, housekeeper);
+    }
+
+    private void deleteSegment(long index) {
+        try {
+            Files.deleteIfExists(directory.resolve(segmentName(index)));
+        } catch (IOException e) {
+            log.warn("trace journal 세그먼트 삭제 실패 index={}", index, e);
+        }
+    }
+
+    private void releaseTraceId() {
+        TraceId traceId = traceIdHolder.get();
+        if (traceId.isFirstLevel()) {
+            traceIdHolder.remove(); // destroy
+        } else {
+            traceIdHolder.set(traceId.createPreviousId());
+        }
+    }
+
+    @Override
+    public TraceId getTraceId() {
+        return traceIdHolder.get();
+    }
+
+    @Override
+    public void setTraceId(TraceId traceId) {
+        if (traceId == null) {
+            traceIdHolder.remove();
+        } else {
+            traceIdHolder.set(traceId);
+        }
+    }
+
+    public long getWrittenCount() {
+        return writtenCount.sum();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * 백그라운드 작업(force, 삭제)이 끝날 때까지 기다린 뒤 닫는다. 쓰지 않은 예비 세그먼트는 지운다.
+     */
+    @Override
+    public void close() throws IOException {
+        JournalSegment segment = current;
+        current = null;
+        housekeeper.shutdown();
+        try {
+            if (!housekeeper.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("trace journal 백그라운드 작업이 끝나지 않았습니다.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (segment != null) {
+            segment.force();
+        }
+        CompletableFuture<JournalSegment> unused = spare;
+        if (unused.isDone() && !unused.isCompletedExceptionally()) {
+            deleteSegment(unused.join().getIndex());
+        }
+        dictionary.close();
+    }
+}
@@ -0,0 +1,76 @@
+package hello.advanced.trace.journal;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static hello.advanced.trace.journal.JournalFormat.*;
+
+/**
+ * 파일 하나를 통째로 매핑한 세그먼트.
+ * 쓰는 쪽은 position 을 getAndAdd 로 예약한 뒤 자기 칸에만 쓰므로 락이 필요 없다.
+ */
+class JournalSegment {
+    static final long ROLL = -1; // 이 쓰레드가 다음 세그먼트를 만들어야 한다.
+    static final long FULL = -2; // 다른 쓰레드가 다음 세그먼트를 만드는 중이다.
+
+    private final long index;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final AtomicLong position = new AtomicLong(HEADER_SIZE);
+
+    private JournalSegment(long index, MappedByteBuffer buffer, int capacity) {
+        this.index = index;
+        this.buffer = buffer;
+        this.capacity = capacity;
+    }
+
+    /**
+     * capacity 는 RECORD_SIZE 의 배수여야 한다.
+     * runId 는 같은 JVM 실행에서 만든 세그먼트끼리 같은 값이다. (그 실행의 첫 세그먼트 번호)
+     */
+    static JournalSegment create(Path directory, long index, int capacity, long runId) throws IOException {
+        Path path = directory.resolve(segmentName(index));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // 채널을 닫아도 매핑은 유지된다.
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(HEADER_VERSION, VERSION);
+            buffer.putInt(HEADER_RECORD_SIZE, RECORD_SIZE);
+            buffer.putInt(HEADER_SEGMENT_INDEX, (int) index);
+            buffer.putLong(HEADER_EPOCH_MILLIS, System.currentTimeMillis());
+            buffer.putLong(HEADER_NANO_TIME, System.nanoTime());
+            buffer.putLong(HEADER_RUN_ID, runId);
+            return new JournalSegment(index, buffer, capacity);
+        }
+    }
+
+    long reserve() {
+        long offset = position.getAndAdd(RECORD_SIZE);
+        if (offset + RECORD_SIZE <= capacity) {
+            return offset;
+        }
+        return offset == capacity ? ROLL : FULL;
+    }
+
+    void write(long offset, long traceId, long startTimeNs, long endTimeNs, int nameId, int depth, byte status) {
+        int base = (int) offset;
+        buffer.putLong(base + TRACE_ID, traceId);
+        buffer.putLong(base + START_NS, startTimeNs);
+        buffer.putLong(base + END_NS, endTimeNs);
+        buffer.putInt(base + NAME_ID, nameId);
+        buffer.putShort(base + DEPTH, (short) depth);
+        buffer.put(base + STATUS, status);
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    long getIndex() {
+        return index;
+    }
+}
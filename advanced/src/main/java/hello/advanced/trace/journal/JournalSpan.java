@@ -0,0 +1,60 @@
+package hello.advanced.trace.journal;
+
+/**
+ * TraceJournalReader 가 읽어 낸 span 레코드 하나
+ * 시작/종료 시간은 세그먼트 헤더의 기준점으로 바꾼 벽시계 시간(epoch 나노초)이다.
+ */
+public class JournalSpan {
+    private final long runId;
+    private final String traceId;
+    private final int depth;
+    private final String name;
+    private final long startTimeNs;
+    private final long endTimeNs;
+    private final boolean exception;
+
+    public JournalSpan(long runId, String traceId, int depth, String name, long startTimeNs, long endTimeNs, boolean exception) {
+        this.runId = runId;
+        this.traceId = traceId;
+        this.depth = depth;
+        this.name = name;
+        this.startTimeNs = startTimeNs;
+        this.endTimeNs = endTimeNs;
+        this.exception = exception;
+    }
+
+    /**
+     * 기록한 JVM 실행, 같은 traceId 라도 runId 가 다르면 다른 요청이다.
+     */
+    public long getRunId() {
+        return runId;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getStartTimeNs() {
+        return startTimeNs;
+    }
+
+    public long getEndTimeNs() {
+        return endTimeNs;
+    }
+
+    public long getDurationNs() {
+        return endTimeNs - startTimeNs;
+    }
+
+    public boolean isException() {
+        return exception;
+    }
+}
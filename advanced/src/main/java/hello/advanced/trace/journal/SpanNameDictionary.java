@@ -0,0 +1,76 @@
+package hello.advanced.trace.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * span 이름 -> int id. 새 이름이 나올 때만 파일 끝에 (id, 이름) 을 덧붙인다.
+ * 이미 있는 이름은 ConcurrentHashMap 조회 한 번으로 끝난다.
+ */
+@Slf4j
+class SpanNameDictionary implements AutoCloseable {
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final DataOutputStream out;
+    private int nextId; // register() 안에서만 변경
+
+    SpanNameDictionary(Path file) throws IOException {
+        if (Files.exists(file)) {
+            read(file).forEach((id, name) -> ids.put(name, id));
+            nextId = ids.size();
+        }
+        this.out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+    }
+
+    int idOf(String name) {
+        Integer id = ids.get(name);
+        return id != null ? id : register(name);
+    }
+
+    private synchronized int register(String name) {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        int newId = nextId++;
+        try {
+            out.writeInt(newId);
+            out.writeUTF(name);
+            out.flush();
+        } catch (IOException e) {
+            log.warn("span 이름 저장 실패 name={}", name, e);
+        }
+        ids.put(name, newId);
+        return newId;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+
+    static Map<Integer, String> read(Path file) throws IOException {
+        Map<Integer, String> names = new HashMap<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            while (true) {
+                int id = in.readInt();
+                names.put(id, in.readUTF());
+            }
+        } catch (EOFException e) {
+            // 파일 끝
+        }
+        return names;
+    }
+}
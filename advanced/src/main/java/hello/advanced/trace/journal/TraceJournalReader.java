@@ -0,0 +1,163 @@
+package hello.advanced.trace.journal;
+
+import hello.advanced.trace.TraceTime;
+import hello.advanced.trace.latency.LatencyHistogram;
+import hello.advanced.trace.latency.LatencySnapshot;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static hello.advanced.trace.journal.JournalFormat.*;
+
+/**
+ * JournalLogTrace 가 남긴 파일을 읽어 호출 트리와 span 별 통계를 출력한다.
+ * <pre>
+ * java hello.advanced.trace.journal.TraceJournalReader &lt;dir&gt; [stats | trees [limit]]
+ * </pre>
+ */
+public class TraceJournalReader {
+    private final Path directory;
+
+    public TraceJournalReader(Path directory) {
+        this.directory = directory;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("usage: TraceJournalReader <dir> [stats | trees [limit]]");
+            System.exit(1);
+        }
+        TraceJournalReader reader = new TraceJournalReader(Paths.get(args[0]));
+        String command = args.length > 1 ? args[1] : "stats";
+        if ("trees".equals(command)) {
+            reader.printTrees(System.out, args.length > 2 ? Integer.parseInt(args[2]) : 10);
+        } else {
+            reader.printStats(System.out);
+        }
+    }
+
+    /**
+     * 세그먼트 순서대로 다 쓴 레코드만 넘긴다.
+     * nanoTime 은 JVM 실행마다 기준이 다르므로, 같은 실행(runId)에서 처음 읽은 세그먼트 헤더의
+     * epochMillis/nanoTime 을 기준점으로 벽시계 시간으로 바꾼다. 한 실행 안에서는 같은 기준점을 쓰므로 순서가 어긋나지 않는다.
+     * runId 가 없는 version 1 세그먼트는 세그먼트 하나를 실행 하나로 본다.
+     */
+    public void forEachSpan(Consumer<JournalSpan> consumer) throws IOException {
+        Path dictionaryFile = directory.resolve(DICTIONARY_FILE);
+        Map<Integer, String> names = Files.exists(dictionaryFile) ? SpanNameDictionary.read(dictionaryFile) : Map.of();
+        Map<Long, long[]> anchors = new HashMap<>(); // runId -> {epochMillis, nanoTime}
+        for (Path segment : segments()) {
+            try (FileChannel channel = FileChannel.open(segment)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                if (buffer.limit() < V1_HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(HEADER_RECORD_SIZE) != RECORD_SIZE) {
+                    throw new IOException("trace journal 세그먼트가 아닙니다. file=" + segment);
+                }
+                int version = buffer.getInt(HEADER_VERSION);
+                int headerSize = version >= 2 ? HEADER_SIZE : V1_HEADER_SIZE;
+                long runId = version >= 2 ? buffer.getLong(HEADER_RUN_ID) : buffer.getInt(HEADER_SEGMENT_INDEX);
+                long[] anchor = anchors.computeIfAbsent(runId, id ->
+                        new long[]{buffer.getLong(HEADER_EPOCH_MILLIS), buffer.getLong(HEADER_NANO_TIME)});
+                long offsetNs = anchor[0] * 1_000_000 - anchor[1];
+                for (int base = headerSize; base + RECORD_SIZE <= buffer.limit(); base += RECORD_SIZE) {
+                    byte status = buffer.get(base + STATUS);
+                    if (status == STATUS_EMPTY) {
+                        continue;
+                    }
+                    int nameId = buffer.getInt(base + NAME_ID);
+                    consumer.accept(new JournalSpan(
+                            runId,
+                            decodeTraceId(buffer.getLong(base + TRACE_ID)),
+                            buffer.getShort(base + DEPTH),
+                            names.getOrDefault(nameId, "#" + nameId),
+                            buffer.getLong(base + START_NS) + offsetNs,
+                            buffer.getLong(base + END_NS) + offsetNs,
+                            status == STATUS_EXCEPTION));
+                }
+            }
+        }
+    }
+
+    public List<JournalSpan> readSpans() throws IOException {
+        List<JournalSpan> spans = new ArrayList<>();
+        forEachSpan(spans::add);
+        return spans;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> isSegment(path.getFileName().toString()))
+                    .sorted(Comparator.comparingLong(path -> segmentIndex(path.getFileName().toString())))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * 레코드는 span 이 끝날 때 쓰이므로 자식이 부모보다 먼저 나온다.
+     * trace 별로 모아서 시작 시간 순으로 정렬하면 depth 로 트리를 복원할 수 있다.
+     * traceId 는 8자리라 재시작하면 겹칠 수 있으므로 키는 "runId-traceId" 이다.
+     */
+    public Map<String, List<JournalSpan>> readTrees() throws IOException {
+        Map<String, List<JournalSpan>> traces = new LinkedHashMap<>();
+        forEachSpan(span -> traces.computeIfAbsent(span.getRunId() + "-" + span.getTraceId(), id -> new ArrayList<>()).add(span));
+        Comparator<JournalSpan> order = Comparator.comparingLong(JournalSpan::getStartTimeNs)
+                .thenComparingInt(JournalSpan::getDepth);
+        traces.values().forEach(spans -> spans.sort(order));
+        return traces.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().get(0).getStartTimeNs()))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
+
+    public void printTrees(PrintStream out, int limit) throws IOException {
+        readTrees().values().stream().limit(limit).forEach(spans -> {
+            for (JournalSpan span : spans) {
+                out.printf("[%s] %s%s time=%sms%s%n", span.getTraceId(), indent(span.getDepth()), span.getName(),
+                        TraceTime.toMillis(span.getDurationNs()), span.isException() ? " ex" : "");
+            }
+        });
+    }
+
+    private String indent(int depth) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < depth; i++) {
+            sb.append((i == depth - 1) ? "|-->" : "|   ");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * span 이름별 count, 예외 수, p50/p99/max (ms)
+     */
+    public void printStats(PrintStream out) throws IOException {
+        Map<String, LatencyHistogram> histograms = new TreeMap<>();
+        Map<String, Long> exceptions = new TreeMap<>();
+        forEachSpan(span -> {
+            histograms.computeIfAbsent(span.getName(), name -> new LatencyHistogram()).record(span.getDurationNs() / 1_000);
+            if (span.isException()) {
+                exceptions.merge(span.getName(), 1L, Long::sum);
+            }
+        });
+
+        out.printf("%-40s %10s %8s %12s %12s %12s%n", "span", "count", "ex", "p50(ms)", "p99(ms)", "max(ms)");
+        histograms.forEach((name, histogram) -> {
+            LatencySnapshot snapshot = histogram.snapshot();
+            out.printf("%-40s %10d %8d %12s %12s %12s%n", name, snapshot.getCount(), exceptions.getOrDefault(name, 0L),
+                    TraceTime.toMillis(snapshot.getP50() * 1_000), TraceTime.toMillis(snapshot.getP99() * 1_000),
+                    TraceTime.toMillis(snapshot.getMax() * 1_000));
+        });
+    }
+}
@@ -0,0 +1,72 @@
+package hello.advanced.trace.latency;
+
+import hello.advanced.trace.TraceId;
+import hello.advanced.trace.TraceStatus;
+import hello.advanced.trace.callback.TraceCallback;
+import hello.advanced.trace.logtrace.LogTrace;
+import hello.advanced.trace.logtrace.TraceContextHolder;
+
+/**
+ * LogTrace 를 감싸서 span 별 소요 시간을 SpanLatencyRegistry 에 기록한다.
+ * 소요 시간은 end() 에 넘어온 status 의 시작 시간(nanoTime)과 메시지로 계산하므로 begin() 에서 따로 만드는 것이 없다.
+ * 다른 쓰레드에서 end() 하거나 end() 가 빠진 span 이 있어도 다른 span 의 시간으로 잡히지 않는다.
+ * 시작 시간이 없는 status (SamplingLogTrace 에서 뽑히지 않은 span) 는 기록하지 않는다.
+ */
+public class LatencyLogTrace implements LogTrace, TraceContextHolder, AutoCloseable {
+    private final LogTrace delegate;
+    private final SpanLatencyRegistry registry;
+
+    public LatencyLogTrace(LogTrace delegate, SpanLatencyRegistry registry) {
+        this.delegate = delegate;
+        this.registry = registry;
+    }
+
+    @Override
+    public TraceStatus begin(String message) {
+        return delegate.begin(message);
+    }
+
+    @Override
+    public void end(TraceStatus status) {
+        record(status);
+        delegate.end(status);
+    }
+
+    @Override
+    public void exception(TraceStatus status, Exception e) {
+        record(status);
+        delegate.exception(status, e);
+    }
+
+    @Override
+    public <T> T callInScope(TraceStatus status, TraceCallback<T> callback) {
+        return delegate.callInScope(status, callback);
+    }
+
+    // 감싼 LogTrace 가 status 를 재사용할 수 있으므로 넘기기 전에 기록한다. (begin() 이 실패해 null 이면 건너뛴다)
+    private void record(TraceStatus status) {
+        if (status == null || status.getStartTimeNs() == 0) {
+            return;
+        }
+        registry.record(status.getMessage(), System.nanoTime() - status.getStartTimeNs());
+    }
+
+    @Override
+    public TraceId getTraceId() {
+        return delegate instanceof TraceContextHolder ? ((TraceContextHolder) delegate).getTraceId() : null;
+    }
+
+    @Override
+    public void setTraceId(TraceId traceId) {
+        if (delegate instanceof TraceContextHolder) {
+            ((TraceContextHolder) delegate).setTraceId(traceId);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable) {
+            ((AutoCloseable) delegate).close();
+        }
+    }
+}
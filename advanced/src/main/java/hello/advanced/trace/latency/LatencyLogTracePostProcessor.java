@@ -0,0 +1,24 @@
+package hello.advanced.trace.latency;
+
+import hello.advanced.trace.logtrace.LogTrace;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * 등록된 LogTrace 빈을 LatencyLogTrace 로 감싼다.
+ */
+public class LatencyLogTracePostProcessor implements BeanPostProcessor {
+    private final SpanLatencyRegistry registry;
+
+    public LatencyLogTracePostProcessor(SpanLatencyRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (bean instanceof LogTrace && !(bean instanceof LatencyLogTrace)) {
+            return new LatencyLogTrace((LogTrace) bean, registry);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,25 @@
+package hello.advanced.trace.latency;
+
+import lombok.Getter;
+
+/**
+ * 단위는 모두 마이크로초
+ */
+@Getter
+public class LatencySnapshot {
+    private final long count;
+    private final long p50;
+    private final long p90;
+    private final long p99;
+    private final long p999;
+    private final long max;
+
+    public LatencySnapshot(long count, long p50, long p90, long p99, long p999, long max) {
+        this.count = count;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.p999 = p999;
+        this.max = max;
+    }
+}
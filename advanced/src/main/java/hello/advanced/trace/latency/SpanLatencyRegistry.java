@@ -0,0 +1,27 @@
+package hello.advanced.trace.latency;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * span 이름(예: OrderService.orderItem())별 히스토그램 저장소
+ */
+public class SpanLatencyRegistry {
+    private final ConcurrentHashMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    public void record(String spanName, long elapsedNanos) {
+        LatencyHistogram histogram = histograms.get(spanName);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(spanName, name -> new LatencyHistogram());
+        }
+        histogram.record(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+    }
+
+    public Map<String, LatencySnapshot> snapshots() {
+        Map<String, LatencySnapshot> result = new TreeMap<>();
+        histograms.forEach((name, histogram) -> result.put(name, histogram.snapshot()));
+        return result;
+    }
+}
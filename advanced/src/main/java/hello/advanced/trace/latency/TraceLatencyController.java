@@ -0,0 +1,23 @@
+package hello.advanced.trace.latency;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "trace.latency", havingValue = "on")
+public class TraceLatencyController {
+    private final SpanLatencyRegistry registry;
+
+    /**
+     * span 이름별 p50/p90/p99/p999/max (마이크로초)
+     */
+    @GetMapping("/trace/latency")
+    public Map<String, LatencySnapshot> latency() {
+        return registry.snapshots();
+    }
+}
@@ -2,6 +2,7 @@ package hello.advanced.trace.logtrace;
 
 import hello.advanced.trace.TraceId;
 import hello.advanced.trace.TraceStatus;
+import hello.advanced.trace.TraceTime;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -16,9 +17,9 @@ public class FieldLogTrace implements LogTrace{
     public TraceStatus begin(String message) {
         syncTraceId();
         TraceId traceId = traceIdHolder;
-        Long startTimeMs = System.currentTimeMillis();
+        long startTimeNs = System.nanoTime();
         log.info("[{}] {}{}", traceId.getId(), addSpace(START_PREFIX, traceId.getLevel()), message);
-        return new TraceStatus(traceId, startTimeMs, message);
+        return new TraceStatus(traceId, startTimeNs, message);
     }
 
     private void syncTraceId(){
@@ -40,13 +41,12 @@ public class FieldLogTrace implements LogTrace{
 
 
     private void complete(TraceStatus status, Exception e){
-        Long stopTimeMs = System.currentTimeMillis();
-        Long resultTimeMs = stopTimeMs - status.getStartTimeMs();
+        long resultTimeNs = System.nanoTime() - status.getStartTimeNs();
         TraceId traceId = status.getTraceId();
         if(e == null){
-            log.info("[{}] {}{} time={}ms", traceId.getId(), addSpace(COMPLETE_PREFIX, traceId.getLevel()), status.getMessage(), resultTimeMs);
+            log.info("[{}] {}{} time={}ms", traceId.getId(), addSpace(COMPLETE_PREFIX, traceId.getLevel()), status.getMessage(), TraceTime.toMillis(resultTimeNs));
         }else {
-            log.info("[{}] {}{} time={}ms ex={}", traceId.getId(), addSpace(EX_PREFIX, traceId.getLevel()), status.getMessage(), resultTimeMs, e.toString());
+            log.info("[{}] {}{} time={}ms ex={}", traceId.getId(), addSpace(EX_PREFIX, traceId.getLevel()), status.getMessage(), TraceTime.toMillis(resultTimeNs), e.toString());
         }
 
         releaseTraceId();
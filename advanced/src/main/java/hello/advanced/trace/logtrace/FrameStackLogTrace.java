@@ -0,0 +1,192 @@
+package hello.advanced.trace.logtrace;
+
+import hello.advanced.trace.TraceId;
+import hello.advanced.trace.TraceStatus;
+import hello.advanced.trace.TraceTime;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * ThreadLocalLogTrace 와 같은 로그를 남기지만, 쓰레드마다 미리 만들어둔 frame 스택을 재사용한다.
+ * begin() 이 반환하는 TraceStatus 는 해당 frame 이 end() 된 뒤 같은 깊이의 다음 호출에서 다시 쓰이므로 보관하면 안된다.
+ */
+@Slf4j
+public class FrameStackLogTrace implements LogTrace {
+    private static final String START_PREFIX = "-->";
+    private static final String COMPLETE_PREFIX = "<--";
+    private static final String EX_PREFIX = "<X-";
+
+    private static final int INITIAL_DEPTH = 16;
+    private static final int SPACE_TABLE_SIZE = 32;
+
+    private static final String[] START_SPACES = createSpaceTable(START_PREFIX);
+    private static final String[] COMPLETE_SPACES = createSpaceTable(COMPLETE_PREFIX);
+    private static final String[] EX_SPACES = createSpaceTable(EX_PREFIX);
+
+    // 요청이 끝나도 remove() 하지 않고 쓰레드가 frame 스택을 계속 재사용한다.
+    private final ThreadLocal<FrameStack> stackHolder = ThreadLocal.withInitial(FrameStack::new);
+
+    @Override
+    public TraceStatus begin(String message) {
+        Frame frame = stackHolder.get().push(message);
+        if (log.isInfoEnabled()) {
+            log.info("[{}] {}{}", frame.traceId.getId(), space(START_SPACES, START_PREFIX, frame.level), message);
+        }
+        return frame;
+    }
+
+    @Override
+    public void end(TraceStatus status) {
+        complete(status, null);
+    }
+
+    @Override
+    public void exception(TraceStatus status, Exception e) {
+        complete(status, e);
+    }
+
+    private void complete(TraceStatus status, Exception e) {
+        long stopNanos = System.nanoTime();
+        Frame frame = (Frame) status;
+        if (log.isInfoEnabled()) {
+            String resultTime = TraceTime.toMillis(stopNanos - frame.startNanos);
+            String id = frame.traceId.getId();
+            if (e == null) {
+                log.info("[{}] {}{} time={}ms", id, space(COMPLETE_SPACES, COMPLETE_PREFIX, frame.level), frame.message, resultTime);
+            } else {
+                log.info("[{}] {}{} time={}ms ex={}", id, space(EX_SPACES, EX_PREFIX, frame.level), frame.message, resultTime, e.toString());
+            }
+        }
+        stackHolder.get().pop(frame);
+    }
+
+    private static String space(String[] table, String prefix, int level) {
+        return level < table.length ? table[level] : addSpace(prefix, level);
+    }
+
+    private static String[] createSpaceTable(String prefix) {
+        String[] table = new String[SPACE_TABLE_SIZE];
+        for (int level = 0; level < SPACE_TABLE_SIZE; level++) {
+            table[level] = addSpace(prefix, level);
+        }
+        return table;
+    }
+
+    private static String addSpace(String prefix, int level) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < level; i++) {
+            sb.append((i == level - 1) ? "|" + prefix : "|   ");
+        }
+        return sb.toString();
+    }
+
+    private static final class FrameStack {
+        private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+        private Frame[] frames = new Frame[INITIAL_DEPTH];
+        private final char[] idChars = new char[8];
+        private int depth;
+        private String id;
+
+        Frame push(String message) {
+            if (depth == 0) {
+                id = createId();
+            }
+            if (depth == frames.length) {
+                frames = Arrays.copyOf(frames, depth * 2);
+            }
+            Frame frame = frames[depth];
+            if (frame == null) {
+                frame = new Frame(depth);
+                frames[depth] = frame;
+            }
+            frame.open(id, message, System.nanoTime());
+            depth++;
+            return frame;
+        }
+
+        // UUID 앞 8자리와 같은 모양의 16진수 id. 루트마다 String 하나만 만든다.
+        private String createId() {
+            int random = ThreadLocalRandom.current().nextInt();
+            for (int i = idChars.length - 1; i >= 0; i--) {
+                idChars[i] = HEX[random & 0xF];
+                random >>>= 4;
+            }
+            return new String(idChars);
+        }
+
+        void pop(Frame frame) {
+            // 순서가 어긋나게 종료되어도 종료된 frame 의 깊이로 맞춘다.
+            depth = frame.level;
+            if (depth == 0) {
+                id = null;
+            }
+        }
+    }
+
+    private static final class Frame extends TraceStatus {
+        private final int level;
+        private final FrameId traceId;
+        private String message;
+        private long startNanos;
+
+        Frame(int level) {
+            super(null, 0, null);
+            this.level = level;
+            this.traceId = new FrameId(level);
+        }
+
+        void open(String id, String message, long startNanos) {
+            this.traceId.id = id;
+            this.message = message;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public TraceId getTraceId() {
+            return traceId;
+        }
+
+        @Override
+        public long getStartTimeNs() {
+            return startNanos;
+        }
+
+        @Override
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    // frame 을 재사용하므로 id 는 루트마다 바뀐다. level 은 frame 깊이로 고정이다.
+    private static final class FrameId extends TraceId {
+        private String id;
+
+        FrameId(int level) {
+            super(null, level); // UUID 를 만들지 않는다.
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public TraceId createNextId() {
+            return detached(getLevel() + 1);
+        }
+
+        @Override
+        public TraceId createPreviousId() {
+            return detached(getLevel() - 1);
+        }
+
+        private FrameId detached(int level) {
+            FrameId traceId = new FrameId(level);
+            traceId.id = id;
+            return traceId;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package hello.advanced.trace.logtrace;
 
 import hello.advanced.trace.TraceStatus;
+import hello.advanced.trace.callback.TraceCallback;
 
 public interface LogTrace {
     TraceStatus begin(String message);
@@ -8,4 +9,12 @@ public interface LogTrace {
     void end(TraceStatus status);
 
     void exception(TraceStatus status, Exception e);
+
+    /**
+     * TraceTemplate 이 begin() 과 end() 사이의 로직을 실행할 때 부른다.
+     * 콜백이 실행되는 동안 TraceId 를 묶어 둬야 하는 구현(ScopedLogTrace)과 다른 LogTrace 를 감싸는 구현만 재정의한다.
+     */
+    default <T> T callInScope(TraceStatus status, TraceCallback<T> callback) {
+        return callback.call();
+    }
 }
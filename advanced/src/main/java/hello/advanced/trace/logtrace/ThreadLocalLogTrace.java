@@ -2,23 +2,53 @@ package hello.advanced.trace.logtrace;
 
 import hello.advanced.trace.TraceId;
 import hello.advanced.trace.TraceStatus;
+import hello.advanced.trace.TraceStatusPool;
+import hello.advanced.trace.TraceTime;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
-public class ThreadLocalLogTrace implements LogTrace{
+public class ThreadLocalLogTrace implements LogTrace, TraceContextHolder{
     private final String START_PREFIX = "-->";
     private final String COMPLETE_PREFIX = "<--";
     private final String EX_PREFIX = "<X-";
 
 //    private TraceId traceIdHolder; // traceId 동기화, 동시성 이슈 발생
     private ThreadLocal<TraceId> traceIdHolder = new ThreadLocal<>();
+    private final TraceStatusPool statusPool;
+    private final boolean logging;
+
+    public ThreadLocalLogTrace() {
+        this(null);
+    }
+
+    /**
+     * statusPool 을 넘기면 end() 이후의 TraceStatus 를 재사용한다.
+     */
+    public ThreadLocalLogTrace(TraceStatusPool statusPool) {
+        this(statusPool, true);
+    }
+
+    private ThreadLocalLogTrace(TraceStatusPool statusPool, boolean logging) {
+        this.statusPool = statusPool;
+        this.logging = logging;
+    }
+
+    /**
+     * 로그는 남기지 않고 TraceId 만 관리한다. 출력을 따로 하는 LogTrace(AsyncLogTrace)가 감싸서 쓴다.
+     */
+    public static ThreadLocalLogTrace withoutLogging() {
+        return new ThreadLocalLogTrace(null, false);
+    }
+
     @Override
     public TraceStatus begin(String message) {
         syncTraceId();
         TraceId traceId = traceIdHolder.get();
-        Long startTimeMs = System.currentTimeMillis();
-        log.info("[{}] {}{}", traceId.getId(), addSpace(START_PREFIX, traceId.getLevel()), message);
-        return new TraceStatus(traceId, startTimeMs, message);
+        long startTimeNs = System.nanoTime();
+        if (logging) {
+            log.info("[{}] {}{}", traceId.getId(), addSpace(START_PREFIX, traceId.getLevel()), message);
+        }
+        return statusPool == null ? new TraceStatus(traceId, startTimeNs, message) : statusPool.acquire(traceId, startTimeNs, message);
     }
 
     private void syncTraceId(){
@@ -41,16 +71,20 @@ public class ThreadLocalLogTrace implements LogTrace{
 
 
     private void complete(TraceStatus status, Exception e){
-        Long stopTimeMs = System.currentTimeMillis();
-        Long resultTimeMs = stopTimeMs - status.getStartTimeMs();
-        TraceId traceId = status.getTraceId();
-        if(e == null){
-            log.info("[{}] {}{} time={}ms", traceId.getId(), addSpace(COMPLETE_PREFIX, traceId.getLevel()), status.getMessage(), resultTimeMs);
-        }else {
-            log.info("[{}] {}{} time={}ms ex={}", traceId.getId(), addSpace(EX_PREFIX, traceId.getLevel()), status.getMessage(), resultTimeMs, e.toString());
+        if (logging) {
+            long resultTimeNs = System.nanoTime() - status.getStartTimeNs();
+            TraceId traceId = status.getTraceId();
+            if(e == null){
+                log.info("[{}] {}{} time={}ms", traceId.getId(), addSpace(COMPLETE_PREFIX, traceId.getLevel()), status.getMessage(), TraceTime.toMillis(resultTimeNs));
+            }else {
+                log.info("[{}] {}{} time={}ms ex={}", traceId.getId(), addSpace(EX_PREFIX, traceId.getLevel()), status.getMessage(), TraceTime.toMillis(resultTimeNs), e.toString());
+            }
         }
 
         releaseTraceId();
+        if (statusPool != null) {
+            statusPool.release(status);
+        }
     }
 
     private void releaseTraceId() {
@@ -62,6 +96,20 @@ public class ThreadLocalLogTrace implements LogTrace{
         }
     }
 
+    @Override
+    public TraceId getTraceId() {
+        return traceIdHolder.get();
+    }
+
+    @Override
+    public void setTraceId(TraceId traceId) {
+        if (traceId == null) {
+            traceIdHolder.remove();
+        } else {
+            traceIdHolder.set(traceId);
+        }
+    }
+
     private Object addSpace(String prefix, int level) {
         StringBuilder sb = new StringBuilder();
         for (int i = 0; i < level; i++) {
@@ -0,0 +1,42 @@
+package hello.advanced.trace.logtrace;
+
+import hello.advanced.trace.TraceId;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 현재 쓰레드의 TraceId 를 꺼내고 다시 넣을 수 있는 LogTrace
+ * 다른 쓰레드로 작업을 넘길 때 trace 를 이어주기 위해 사용한다.
+ */
+public interface TraceContextHolder {
+    TraceId getTraceId();
+
+    /**
+     * null 이면 현재 쓰레드의 TraceId 를 제거한다.
+     */
+    void setTraceId(TraceId traceId);
+
+    /**
+     * traceId 를 넣은 채로 task 를 실행하고, 끝나면 원래 TraceId 로 되돌린다.
+     * 쓰레드에 값을 넣어 둘 수 없고 범위로만 묶는 구현(ScopedLogTrace)은 재정의한다.
+     */
+    default void runWithTraceId(TraceId traceId, Runnable task) {
+        TraceId previous = getTraceId();
+        setTraceId(traceId);
+        try {
+            task.run();
+        } finally {
+            setTraceId(previous);
+        }
+    }
+
+    default <T> T callWithTraceId(TraceId traceId, Callable<T> task) throws Exception {
+        TraceId previous = getTraceId();
+        setTraceId(traceId);
+        try {
+            return task.call();
+        } finally {
+            setTraceId(previous);
+        }
+    }
+}
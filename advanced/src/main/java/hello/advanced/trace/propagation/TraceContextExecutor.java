@@ -0,0 +1,24 @@
+package hello.advanced.trace.propagation;
+
+import hello.advanced.trace.logtrace.TraceContextHolder;
+
+import java.util.concurrent.Executor;
+
+/**
+ * execute() 를 호출한 쓰레드의 TraceId 를 작업과 함께 넘긴다.
+ * CompletableFuture.supplyAsync(supplier, executor) 처럼 Executor 를 받는 곳에 사용한다.
+ */
+public class TraceContextExecutor implements Executor {
+    private final Executor delegate;
+    private final TraceContextHolder holder;
+
+    public TraceContextExecutor(Executor delegate, TraceContextHolder holder) {
+        this.delegate = delegate;
+        this.holder = holder;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        delegate.execute(TraceContextSnapshot.capture(holder).wrap(command));
+    }
+}
@@ -0,0 +1,51 @@
+package hello.advanced.trace.propagation;
+
+import hello.advanced.trace.logtrace.TraceContextHolder;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * submit(), invokeAll() 등은 모두 호출한 쓰레드에서 execute() 를 거치므로, execute() 에서만 TraceId 를 넘기면 된다.
+ */
+public class TraceContextExecutorService extends AbstractExecutorService {
+    private final ExecutorService delegate;
+    private final TraceContextHolder holder;
+
+    public TraceContextExecutorService(ExecutorService delegate, TraceContextHolder holder) {
+        this.delegate = delegate;
+        this.holder = holder;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        delegate.execute(TraceContextSnapshot.capture(holder).wrap(command));
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
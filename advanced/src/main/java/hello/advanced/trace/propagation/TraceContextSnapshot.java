@@ -0,0 +1,36 @@
+package hello.advanced.trace.propagation;
+
+import hello.advanced.trace.TraceId;
+import hello.advanced.trace.logtrace.TraceContextHolder;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 작업을 넘기는 시점의 TraceId 를 잡아두었다가, 작업을 실행하는 쓰레드에 다시 넣어준다.
+ * 작업이 끝나면 실행 쓰레드의 원래 TraceId 로 되돌린다.
+ */
+public class TraceContextSnapshot {
+    private final TraceContextHolder holder;
+    private final TraceId traceId;
+
+    private TraceContextSnapshot(TraceContextHolder holder, TraceId traceId) {
+        this.holder = holder;
+        this.traceId = traceId;
+    }
+
+    public static TraceContextSnapshot capture(TraceContextHolder holder) {
+        return new TraceContextSnapshot(holder, holder.getTraceId());
+    }
+
+    public TraceId getTraceId() {
+        return traceId;
+    }
+
+    public Runnable wrap(Runnable task) {
+        return () -> holder.runWithTraceId(traceId, task);
+    }
+
+    public <T> Callable<T> wrap(Callable<T> task) {
+        return () -> holder.callWithTraceId(traceId, task);
+    }
+}
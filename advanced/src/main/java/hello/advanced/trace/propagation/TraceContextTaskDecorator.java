@@ -0,0 +1,20 @@
+package hello.advanced.trace.propagation;
+
+import hello.advanced.trace.logtrace.TraceContextHolder;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * ThreadPoolTaskExecutor.setTaskDecorator() 에 등록하면 @Async 메서드에도 TraceId 가 이어진다.
+ */
+public class TraceContextTaskDecorator implements TaskDecorator {
+    private final TraceContextHolder holder;
+
+    public TraceContextTaskDecorator(TraceContextHolder holder) {
+        this.holder = holder;
+    }
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return TraceContextSnapshot.capture(holder).wrap(runnable);
+    }
+}
@@ -0,0 +1,31 @@
+package hello.advanced.trace.propagation;
+
+import hello.advanced.trace.logtrace.TraceContextHolder;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public abstract class TraceExecutors {
+
+    public static ExecutorService wrap(ExecutorService executorService, TraceContextHolder holder) {
+        return new TraceContextExecutorService(executorService, holder);
+    }
+
+    /**
+     * 작업마다 가상 쓰레드를 하나씩 만든다. 가상 쓰레드가 없는 JDK(21 미만)에서는 cached thread pool 을 사용한다.
+     */
+    public static ExecutorService virtualThreadPerTask(TraceContextHolder holder) {
+        return wrap(newVirtualThreadPerTaskExecutor(), holder);
+    }
+
+    /**
+     * TraceId 를 넘기지 않는 가상 쓰레드 executor. TraceContextHolder 가 아닌 LogTrace(FrameStackLogTrace)용
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package hello.advanced.trace.sampling;
+
+import hello.advanced.trace.TraceId;
+import hello.advanced.trace.TraceStatus;
+import hello.advanced.trace.TraceTime;
+import hello.advanced.trace.logtrace.LogTrace;
+import hello.advanced.trace.logtrace.TraceContextHolder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 첫 번째 span(TraceId.isFirstLevel)에서 요청 단위로 로그를 남길지 정한다.
+ * - head: probability 확률로 뽑힌 요청은 ThreadLocalLogTrace 처럼 바로 로그를 남긴다.
+ * - tail: 뽑히지 않은 요청은 span 을 메모리에 모아두고, 첫 번째 span 이 tailThresholdMs 이상 걸렸거나 예외로 끝났을 때만 남긴다.
+ * 둘 다 아니면 깊이만 세고 아무것도 하지 않는다.
+ * 다른 쓰레드로 넘긴 작업은 요청의 결정을 그대로 따른다. tail 모드는 그 쓰레드에서 넘겨받은 범위가 끝날 때 따로 판단한다.
+ */
+@Slf4j
+public class SamplingLogTrace implements LogTrace, TraceContextHolder {
+    private static final String START_PREFIX = "-->";
+    private static final String COMPLETE_PREFIX = "<--";
+    private static final String EX_PREFIX = "<X-";
+
+    private static final TraceStatus NOT_SAMPLED = new TraceStatus(new TraceId(), 0, "not-sampled");
+
+    private final double probability;
+    private final long tailThresholdNs;
+    private final int maxBufferedSpans;
+    private final ThreadLocal<TraceState> stateHolder = ThreadLocal.withInitial(TraceState::new);
+
+    private final LongAdder droppedSpanCount = new LongAdder();
+
+    /**
+     * @param tailThresholdMs 0 보다 작으면 tail 모드를 사용하지 않는다.
+     * @param maxBufferedSpans 요청 하나에서 모아둘 수 있는 최대 로그 수, 넘치면 버린다.
+     */
+    public SamplingLogTrace(double probability, long tailThresholdMs, int maxBufferedSpans) {
+        if (probability < 0 || probability > 1) {
+            throw new IllegalArgumentException("probability 는 0 ~ 1 사이여야 합니다. probability=" + probability);
+        }
+        this.probability = probability;
+        this.tailThresholdNs = tailThresholdMs < 0 ? -1 : TimeUnit.MILLISECONDS.toNanos(tailThresholdMs);
+        this.maxBufferedSpans = maxBufferedSpans;
+    }
+
+    @Override
+    public TraceStatus begin(String message) {
+        TraceState state = stateHolder.get();
+        if (state.depth == 0) {
+            state.mode = decide();
+        }
+        state.depth++;
+        if (state.mode == Mode.SKIP) {
+            return NOT_SAMPLED;
+        }
+
+        TraceId traceId = state.traceId == null ? new TraceId() : state.traceId.createNextId();
+        state.traceId = traceId;
+        long startTimeNs = System.nanoTime();
+        if (state.mode == Mode.LOG) {
+            log.info("[{}] {}{}", traceId.getId(), addSpace(START_PREFIX, traceId.getLevel()), message);
+        } else {
+            state.buffer(traceId, message, -1, null, maxBufferedSpans);
+        }
+        return new TraceStatus(traceId, startTimeNs, message);
+    }
+
+    private Mode decide() {
+        if (probability > 0 && ThreadLocalRandom.current().nextDouble() < probability) {
+            return Mode.LOG;
+        }
+        return tailThresholdNs >= 0 ? Mode.BUFFER : Mode.SKIP;
+    }
+
+    @Override
+    public void end(TraceStatus status) {
+        complete(status, null);
+    }
+
+    @Override
+    public void exception(TraceStatus status, Exception e) {
+        complete(status, e);
+    }
+
+    private void complete(TraceStatus status, Exception e) {
+        TraceState state = stateHolder.get();
+        state.depth--;
+        if (state.mode == Mode.SKIP) {
+            return;
+        }
+
+        long resultTimeNs = System.nanoTime() - status.getStartTimeNs();
+        TraceId traceId = status.getTraceId();
+        if (state.mode == Mode.LOG) {
+            writeComplete(traceId.getId(), traceId.getLevel(), status.getMessage(), resultTimeNs, e);
+        } else {
+            state.buffer(traceId, status.getMessage(), resultTimeNs, e, maxBufferedSpans);
+        }
+
+        if (state.depth == state.baseDepth) {
+            if (state.mode == Mode.BUFFER && (resultTimeNs >= tailThresholdNs || e != null)) {
+                flush(state);
+            }
+            droppedSpanCount.add(state.dropped);
+            state.reset();
+        } else {
+            state.traceId = traceId.createPreviousId();
+        }
+    }
+
+    private void flush(TraceState state) {
+        for (int i = 0; i < state.size; i++) {
+            BufferedSpan span = state.spans[i];
+            if (span.resultTimeNs < 0) {
+                log.info("[{}] {}{}", span.id, addSpace(START_PREFIX, span.level), span.message);
+            } else {
+                writeComplete(span.id, span.level, span.message, span.resultTimeNs, span.exception);
+            }
+        }
+        if (state.dropped > 0) {
+            log.info("[{}] {} spans dropped", state.spans[0].id, state.dropped);
+        }
+    }
+
+    private void writeComplete(String id, int level, String message, long resultTimeNs, Exception e) {
+        if (e == null) {
+            log.info("[{}] {}{} time={}ms", id, addSpace(COMPLETE_PREFIX, level), message, TraceTime.toMillis(resultTimeNs));
+        } else {
+            log.info("[{}] {}{} time={}ms ex={}", id, addSpace(EX_PREFIX, level), message, TraceTime.toMillis(resultTimeNs), e.toString());
+        }
+    }
+
+    /**
+     * 요청의 샘플링 결정(mode)도 같이 담아서 돌려준다. 요청 밖이면 null
+     */
+    @Override
+    public TraceId getTraceId() {
+        TraceState state = stateHolder.get();
+        if (state.depth == 0) {
+            return null;
+        }
+        String id = state.traceId == null ? NOT_SAMPLED.getTraceId().getId() : state.traceId.getId();
+        return new SampledTraceId(id, state.depth - 1, state);
+    }
+
+    /**
+     * 이 쓰레드에서 꺼낸 값이면 그 상태로 되돌리고(모아둔 span 유지),
+     * 다른 쓰레드에서 넘어온 값이면 그 깊이에서 이어지는 새 상태를 만든다.
+     * SamplingLogTrace 가 만든 TraceId 가 아니면 샘플링된 요청으로 본다.
+     */
+    @Override
+    public void setTraceId(TraceId traceId) {
+        if (traceId == null) {
+            stateHolder.remove();
+            return;
+        }
+        if (traceId instanceof SampledTraceId && ((SampledTraceId) traceId).origin.owner == Thread.currentThread()) {
+            SampledTraceId sampled = (SampledTraceId) traceId;
+            sampled.origin.depth = sampled.getLevel() + 1;
+            sampled.origin.traceId = sampled.traceId;
+            stateHolder.set(sampled.origin);
+            return;
+        }
+        TraceState state = new TraceState();
+        if (traceId instanceof SampledTraceId) {
+            SampledTraceId sampled = (SampledTraceId) traceId;
+            state.mode = sampled.mode;
+            state.baseTraceId = sampled.traceId;
+        } else {
+            state.mode = Mode.LOG;
+            state.baseTraceId = traceId;
+        }
+        state.baseDepth = traceId.getLevel() + 1;
+        state.reset();
+        stateHolder.set(state);
+    }
+
+    /**
+     * tail 모드에서 버퍼 크기를 넘어 버린 로그 수
+     */
+    public long getDroppedSpanCount() {
+        return droppedSpanCount.sum();
+    }
+
+    private static String addSpace(String prefix, int level) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < level; i++) {
+            sb.append((i == level - 1) ? "|" + prefix : "|   ");
+        }
+        return sb.toString();
+    }
+
+    private enum Mode {
+        SKIP, LOG, BUFFER
+    }
+
+    private static final class TraceState {
+        private final Thread owner = Thread.currentThread();
+        private Mode mode = Mode.SKIP;
+        private int depth;
+        private TraceId traceId;
+        // 다른 쓰레드에서 넘겨받은 범위, 직접 시작한 요청이면 0 과 null
+        private int baseDepth;
+        private TraceId baseTraceId;
+        private BufferedSpan[] spans = new BufferedSpan[0];
+        private int size;
+        private int dropped;
+
+        void buffer(TraceId traceId, String message, long resultTimeNs, Exception e, int maxBufferedSpans) {
+            if (size == maxBufferedSpans) {
+                dropped++;
+                return;
+            }
+            if (size == spans.length) {
+                BufferedSpan[] grown = new BufferedSpan[Math.min(Math.max(16, size * 2), maxBufferedSpans)];
+                System.arraycopy(spans, 0, grown, 0, size);
+                spans = grown;
+            }
+            BufferedSpan span = spans[size];
+            if (span == null) {
+                span = new BufferedSpan();
+                spans[size] = span;
+            }
+            span.id = traceId.getId();
+            span.level = traceId.getLevel();
+            span.message = message;
+            span.resultTimeNs = resultTimeNs;
+            span.exception = e;
+            size++;
+        }
+
+        void reset() {
+            for (int i = 0; i < size; i++) {
+                spans[i].message = null;
+                spans[i].exception = null;
+            }
+            if (baseDepth == 0) {
+                mode = Mode.SKIP;
+            }
+            depth = baseDepth;
+            traceId = baseTraceId;
+            size = 0;
+            dropped = 0;
+        }
+    }
+
+    // 꺼낸 시점의 TraceId 와 샘플링 결정, SKIP 이면 traceId 는 null
+    private static final class SampledTraceId extends TraceId {
+        private final TraceState origin;
+        private final Mode mode;
+        private final TraceId traceId;
+
+        SampledTraceId(String id, int level, TraceState origin) {
+            super(id, level);
+            this.origin = origin;
+            this.mode = origin.mode;
+            this.traceId = origin.traceId;
+        }
+    }
+
+    private static final class BufferedSpan {
+        private String id;
+        private int level;
+        private String message;
+        private long resultTimeNs; // 시작 로그는 -1
+        private Exception exception;
+    }
+}
@@ -0,0 +1,130 @@
+package hello.advanced.trace.scoped;
+
+import hello.advanced.trace.TraceId;
+import hello.advanced.trace.TraceStatus;
+import hello.advanced.trace.TraceTime;
+import hello.advanced.trace.callback.TraceCallback;
+import hello.advanced.trace.logtrace.LogTrace;
+import hello.advanced.trace.logtrace.TraceContextHolder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.Callable;
+
+/**
+ * TraceId 를 쓰레드에 계속 들고 있지 않고, TraceTemplate.execute() 의 콜백이 실행되는 동안에만 묶어 둔다.
+ * 범위 안의 begin() 은 바깥 범위의 TraceId 로 다음 레벨을 만들 뿐 상태를 바꾸지 않으므로 end() 에서 되돌릴 것도 없다.
+ * 범위 밖의 begin() 은 새 요청(루트)으로 본다. 루트도 TraceTemplate 이 callInScope() 로 묶으므로 쓰레드에 남는 값이 없다.
+ * begin/end 를 직접 중첩해서 부르는 v3, AbstractTemplate 을 쓰는 v4 는 깊이가 이어지지 않으므로 v5(TraceTemplate)와 함께 쓴다.
+ * 다른 쓰레드로 넘긴 작업은 runWithTraceId()/callWithTraceId() 로 같은 방식의 범위를 만들어 이어진다. (TraceContextSnapshot)
+ */
+@Slf4j
+public class ScopedLogTrace implements LogTrace, TraceContextHolder {
+    private static final String START_PREFIX = "-->";
+    private static final String COMPLETE_PREFIX = "<--";
+    private static final String EX_PREFIX = "<X-";
+
+    private final TraceBinding binding;
+
+    public ScopedLogTrace() {
+        this(TraceBinding.create());
+    }
+
+    ScopedLogTrace(TraceBinding binding) {
+        this.binding = binding;
+        log.debug("ScopedLogTrace binding={}", binding);
+    }
+
+    @Override
+    public TraceStatus begin(String message) {
+        TraceId parentId = binding.get();
+        TraceId traceId = parentId == null ? new TraceId() : parentId.createNextId();
+        long startTimeNs = System.nanoTime();
+        log.info("[{}] {}{}", traceId.getId(), addSpace(START_PREFIX, traceId.getLevel()), message);
+        return new TraceStatus(traceId, startTimeNs, message);
+    }
+
+    /**
+     * status 의 TraceId 를 콜백이 끝날 때까지 묶어 둔다. 콜백 안의 begin() 은 한 단계 깊어진다.
+     */
+    @Override
+    public <T> T callInScope(TraceStatus status, TraceCallback<T> callback) {
+        return binding.call(status.getTraceId(), callback);
+    }
+
+    @Override
+    public void end(TraceStatus status) {
+        complete(status, null);
+    }
+
+    @Override
+    public void exception(TraceStatus status, Exception e) {
+        complete(status, e);
+    }
+
+    private void complete(TraceStatus status, Exception e) {
+        long resultTimeNs = System.nanoTime() - status.getStartTimeNs();
+        TraceId traceId = status.getTraceId();
+        if (e == null) {
+            log.info("[{}] {}{} time={}ms", traceId.getId(), addSpace(COMPLETE_PREFIX, traceId.getLevel()), status.getMessage(), TraceTime.toMillis(resultTimeNs));
+        } else {
+            log.info("[{}] {}{} time={}ms ex={}", traceId.getId(), addSpace(EX_PREFIX, traceId.getLevel()), status.getMessage(), TraceTime.toMillis(resultTimeNs), e.toString());
+        }
+    }
+
+    /**
+     * 현재 범위에 묶인 TraceId, 범위 밖이면 null
+     */
+    @Override
+    public TraceId getTraceId() {
+        return binding.get();
+    }
+
+    /**
+     * 범위 밖에서 값을 바꿀 수 없으므로 지금 묶인 값과 같을 때(되돌리기)만 허용한다.
+     * 다른 TraceId 로 실행하려면 runWithTraceId(), callWithTraceId() 를 사용한다.
+     */
+    @Override
+    public void setTraceId(TraceId traceId) {
+        if (traceId != binding.get()) {
+            throw new UnsupportedOperationException("ScopedLogTrace 는 범위로만 TraceId 를 묶습니다. runWithTraceId() 를 사용하세요.");
+        }
+    }
+
+    @Override
+    public void runWithTraceId(TraceId traceId, Runnable task) {
+        binding.call(traceId, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    @Override
+    public <T> T callWithTraceId(TraceId traceId, Callable<T> task) throws Exception {
+        // TraceCallback 은 checked 예외를 던질 수 없으므로 범위 밖으로 꺼내서 던진다.
+        Exception[] failure = new Exception[1];
+        T result = binding.call(traceId, () -> {
+            try {
+                return task.call();
+            } catch (Exception e) {
+                failure[0] = e;
+                return null;
+            }
+        });
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        return result;
+    }
+
+    public String getBindingName() {
+        return binding.toString();
+    }
+
+    private Object addSpace(String prefix, int level) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < level; i++) {
+            sb.append((i == level - 1) ? "|" + prefix : "|   ");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,102 @@
+package hello.advanced.trace.scoped;
+
+import hello.advanced.trace.TraceId;
+import hello.advanced.trace.callback.TraceCallback;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * java.lang.ScopedValue 를 사용한다. 빌드는 Java 17 이라 MethodHandle 로 호출한다.
+ * JDK 21~24 는 --enable-preview 가 필요하고, JDK 25 부터는 그대로 동작한다.
+ * where(..).run(Runnable), isBound(), get() 은 21 부터 시그니처가 바뀌지 않았다.
+ */
+class ScopedValueTraceBinding extends TraceBinding {
+    private final Object scopedValue;
+
+    private ScopedValueTraceBinding(Object scopedValue) {
+        this.scopedValue = scopedValue;
+    }
+
+    static ScopedValueTraceBinding createIfSupported() {
+        try {
+            ScopedValueTraceBinding binding = new ScopedValueTraceBinding(Handles.NEW_INSTANCE.invokeExact());
+            // preview 가 꺼져 있으면 여기서 실패한다.
+            TraceId probe = new TraceId();
+            if (binding.call(probe, binding::get) == probe) {
+                return binding;
+            }
+        } catch (Throwable e) {
+            // ScopedValue 가 없거나 사용할 수 없는 JDK
+        }
+        return null;
+    }
+
+    @Override
+    TraceId get() {
+        try {
+            return (boolean) Handles.IS_BOUND.invokeExact(scopedValue) ? (TraceId) (Object) Handles.GET.invokeExact(scopedValue) : null;
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    <T> T call(TraceId traceId, TraceCallback<T> callback) {
+        Object[] result = new Object[1];
+        Runnable op = () -> result[0] = callback.call();
+        try {
+            Object carrier = Handles.WHERE.invokeExact(scopedValue, (Object) traceId);
+            Handles.RUN.invokeExact(carrier, op);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+        return (T) result[0];
+    }
+
+    private static RuntimeException rethrow(Throwable e) {
+        if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        return new IllegalStateException(e);
+    }
+
+    @Override
+    public String toString() {
+        return "ScopedValue";
+    }
+
+    // 처음 사용할 때 초기화, ScopedValue 가 없으면 createIfSupported() 에서 실패한다.
+    private static final class Handles {
+        static final MethodHandle NEW_INSTANCE;
+        static final MethodHandle WHERE;
+        static final MethodHandle RUN;
+        static final MethodHandle IS_BOUND;
+        static final MethodHandle GET;
+
+        static {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+                Class<?> scopedValue = Class.forName("java.lang.ScopedValue");
+                Class<?> carrier = Class.forName("java.lang.ScopedValue$Carrier");
+                NEW_INSTANCE = lookup.findStatic(scopedValue, "newInstance", MethodType.methodType(scopedValue))
+                        .asType(MethodType.methodType(Object.class));
+                WHERE = lookup.findStatic(scopedValue, "where", MethodType.methodType(carrier, scopedValue, Object.class))
+                        .asType(MethodType.methodType(Object.class, Object.class, Object.class));
+                RUN = lookup.findVirtual(carrier, "run", MethodType.methodType(void.class, Runnable.class))
+                        .asType(MethodType.methodType(void.class, Object.class, Runnable.class));
+                IS_BOUND = lookup.findVirtual(scopedValue, "isBound", MethodType.methodType(boolean.class))
+                        .asType(MethodType.methodType(boolean.class, Object.class));
+                GET = lookup.findVirtual(scopedValue, "get", MethodType.methodType(Object.class))
+                        .asType(MethodType.methodType(Object.class, Object.class));
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+    }
+}
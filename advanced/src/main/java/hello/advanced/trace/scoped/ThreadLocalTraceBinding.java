@@ -0,0 +1,36 @@
+package hello.advanced.trace.scoped;
+
+import hello.advanced.trace.TraceId;
+import hello.advanced.trace.callback.TraceCallback;
+
+/**
+ * 범위가 끝나면 이전 값으로 되돌리고, 가장 바깥 범위가 끝나면 remove() 해서 쓰레드에 값을 남기지 않는다.
+ */
+class ThreadLocalTraceBinding extends TraceBinding {
+    private final ThreadLocal<TraceId> holder = new ThreadLocal<>();
+
+    @Override
+    TraceId get() {
+        return holder.get();
+    }
+
+    @Override
+    <T> T call(TraceId traceId, TraceCallback<T> callback) {
+        TraceId previous = holder.get();
+        holder.set(traceId);
+        try {
+            return callback.call();
+        } finally {
+            if (previous == null) {
+                holder.remove();
+            } else {
+                holder.set(previous);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ThreadLocal";
+    }
+}
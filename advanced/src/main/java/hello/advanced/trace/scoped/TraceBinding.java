@@ -0,0 +1,22 @@
+package hello.advanced.trace.scoped;
+
+import hello.advanced.trace.TraceId;
+import hello.advanced.trace.callback.TraceCallback;
+
+/**
+ * 콜백이 실행되는 동안에만 TraceId 를 묶어 두는 저장소. 묶인 값은 바꾸지 않고, 중첩하면 안쪽 범위에서만 가려진다.
+ */
+abstract class TraceBinding {
+
+    abstract TraceId get();
+
+    abstract <T> T call(TraceId traceId, TraceCallback<T> callback);
+
+    /**
+     * ScopedValue 를 쓸 수 있는 JDK 면 ScopedValue 를, 아니면 ThreadLocal 을 사용한다.
+     */
+    static TraceBinding create() {
+        TraceBinding scopedValue = ScopedValueTraceBinding.createIfSupported();
+        return scopedValue != null ? scopedValue : new ThreadLocalTraceBinding();
+    }
+}
@@ -0,0 +1,49 @@
+package hello.advanced.trace;
+
+import hello.advanced.trace.logtrace.ThreadLocalLogTrace;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TraceStatusPoolTest {
+
+    @Test
+    void reuse_released_status(){
+        TraceStatusPool pool = new TraceStatusPool(4);
+        TraceStatus status1 = pool.acquire(new TraceId(), 1L, "hello1");
+        pool.release(status1);
+
+        TraceId traceId = new TraceId();
+        TraceStatus status2 = pool.acquire(traceId, 2L, "hello2");
+        assertThat(status2).isSameAs(status1);
+        assertThat(status2.getTraceId()).isSameAs(traceId);
+        assertThat(status2.getStartTimeNs()).isEqualTo(2L);
+        assertThat(status2.getMessage()).isEqualTo("hello2");
+    }
+
+    @Test
+    void bounded(){
+        TraceStatusPool pool = new TraceStatusPool(1);
+        TraceStatus status1 = pool.acquire(new TraceId(), 1L, "hello1");
+        TraceStatus status2 = pool.acquire(new TraceId(), 2L, "hello2");
+        pool.release(status1);
+        pool.release(status2); // 버려진다
+
+        assertThat(pool.acquire(new TraceId(), 3L, "hello3")).isSameAs(status1);
+        assertThat(pool.acquire(new TraceId(), 4L, "hello4")).isNotSameAs(status2);
+    }
+
+    @Test
+    void thread_local_log_trace_with_pool(){
+        ThreadLocalLogTrace trace = new ThreadLocalLogTrace(new TraceStatusPool(16));
+        TraceStatus status1 = trace.begin("hello1");
+        TraceStatus status2 = trace.begin("hello2");
+        trace.end(status2);
+        trace.end(status1);
+
+        TraceStatus status3 = trace.begin("hello3");
+        assertThat(status3).isSameAs(status1);
+        assertThat(status3.getTraceId().isFirstLevel()).isTrue();
+        trace.end(status3);
+    }
+}
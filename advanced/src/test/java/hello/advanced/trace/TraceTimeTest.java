@@ -0,0 +1,16 @@
+package hello.advanced.trace;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TraceTimeTest {
+
+    @Test
+    void toMillis(){
+        assertThat(TraceTime.toMillis(1_234_567)).isEqualTo("1.234");
+        assertThat(TraceTime.toMillis(5_000)).isEqualTo("0.005");
+        assertThat(TraceTime.toMillis(1_000_050_000)).isEqualTo("1000.050");
+        assertThat(TraceTime.toMillis(-1)).isEqualTo("0.000");
+    }
+}
@@ -0,0 +1,91 @@
+package hello.advanced.trace.async;
+
+import hello.advanced.trace.TraceStatus;
+import hello.advanced.trace.logtrace.ThreadLocalLogTrace;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncLogTraceTest {
+    ThreadLocalLogTrace delegate = ThreadLocalLogTrace.withoutLogging();
+    AsyncLogTrace trace = new AsyncLogTrace(delegate, 1024, OverflowPolicy.DROP);
+
+    @AfterEach
+    void close() throws InterruptedException {
+        trace.close();
+    }
+
+    @Test
+    void begin_end_level2(){
+        TraceStatus status1 = trace.begin("hello1");
+        TraceStatus status2 = trace.begin("hello2");
+        trace.end(status2);
+        trace.end(status1);
+        assertThat(trace.getPublishedCount()).isEqualTo(4);
+    }
+
+    @Test
+    void begin_exception_level2(){
+        TraceStatus status1 = trace.begin("hello1");
+        TraceStatus status2 = trace.begin("hello2");
+        trace.exception(status2, new IllegalStateException());
+        trace.exception(status1, new IllegalStateException());
+        assertThat(trace.getPublishedCount()).isEqualTo(4);
+    }
+
+    @Test
+    void trace_id_from_delegate(){
+        TraceStatus status1 = trace.begin("hello1");
+        TraceStatus status2 = trace.begin("hello2");
+        assertThat(delegate.getTraceId()).isSameAs(status2.getTraceId());
+        assertThat(trace.getTraceId()).isSameAs(delegate.getTraceId());
+        assertThat(status2.getTraceId().getId()).isEqualTo(status1.getTraceId().getId());
+        assertThat(status2.getTraceId().getLevel()).isEqualTo(1);
+
+        trace.end(status2);
+        trace.end(status1);
+        assertThat(delegate.getTraceId()).isNull();
+    }
+
+    @Test
+    void flush_on_close() throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            trace.end(trace.begin("hello"));
+        }
+        trace.close();
+        assertThat(trace.getPendingCount()).isZero();
+        assertThat(trace.getPublishedCount() + trace.getDroppedCount()).isEqualTo(200);
+    }
+
+    @Test
+    void reject_after_close() throws InterruptedException {
+        trace.end(trace.begin("hello"));
+        trace.close();
+
+        trace.end(trace.begin("after-close"));
+        assertThat(trace.getPublishedCount()).isEqualTo(2);
+        assertThat(trace.getRejectedCount()).isEqualTo(2);
+        assertThat(trace.getPendingCount()).isZero();
+    }
+
+    @Test
+    void flush_concurrent_publishes_on_close() throws InterruptedException {
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    trace.end(trace.begin("hello"));
+                }
+            });
+            threads[i].start();
+        }
+        Thread.sleep(5);
+        trace.close();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertThat(trace.getPendingCount()).isZero();
+        assertThat(trace.getPublishedCount() + trace.getDroppedCount() + trace.getRejectedCount()).isEqualTo(80_000);
+    }
+}
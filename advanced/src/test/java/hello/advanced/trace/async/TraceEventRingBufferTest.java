@@ -0,0 +1,64 @@
+package hello.advanced.trace.async;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TraceEventRingBufferTest {
+
+    @Test
+    void full_buffer_rejects_claim(){
+        TraceEventRingBuffer buffer = new TraceEventRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            long position = buffer.tryClaim();
+            buffer.get(position).set(TraceEvent.BEGIN, "id", i, "hello" + i, 0, 0, null);
+            buffer.publish(position);
+        }
+        assertThat(buffer.tryClaim()).isEqualTo(-1);
+
+        List<String> messages = new ArrayList<>();
+        assertThat(buffer.drain(event -> messages.add(event.message), 10)).isEqualTo(4);
+        assertThat(messages).containsExactly("hello0", "hello1", "hello2", "hello3");
+        assertThat(buffer.tryClaim()).isEqualTo(4);
+    }
+
+    @Test
+    void capacity_must_be_power_of_two(){
+        assertThatThrownBy(() -> new TraceEventRingBuffer(10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void multi_producer(){
+        TraceEventRingBuffer buffer = new TraceEventRingBuffer(1024);
+        int producers = 4;
+        int perProducer = 100_000;
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            int level = p;
+            new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    long position;
+                    while ((position = buffer.tryClaim()) < 0) {
+                        Thread.onSpinWait();
+                    }
+                    buffer.get(position).set(TraceEvent.BEGIN, "id", level, "hello", 0, 0, null);
+                    buffer.publish(position);
+                }
+                done.countDown();
+            }).start();
+        }
+
+        long[] counts = new long[producers];
+        long total = 0;
+        while (total < (long) producers * perProducer) {
+            total += buffer.drain(event -> counts[event.level]++, 256);
+        }
+        assertThat(counts).containsOnly(perProducer);
+    }
+}
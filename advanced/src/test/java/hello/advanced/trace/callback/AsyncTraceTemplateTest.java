@@ -0,0 +1,144 @@
+package hello.advanced.trace.callback;
+
+import hello.advanced.trace.TraceId;
+import hello.advanced.trace.TraceStatus;
+import hello.advanced.trace.latency.LatencyLogTrace;
+import hello.advanced.trace.latency.SpanLatencyRegistry;
+import hello.advanced.trace.logtrace.FieldLogTrace;
+import hello.advanced.trace.logtrace.ThreadLocalLogTrace;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsyncTraceTemplateTest {
+    ThreadLocalLogTrace trace = new ThreadLocalLogTrace();
+    AsyncTraceTemplate template = new AsyncTraceTemplate(trace);
+
+    @Test
+    void caller_not_held(){
+        TraceStatus parent = trace.begin("OrderService.orderItem()");
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CompletionStage<String> result = template.execute("OrderRepository.save()", () -> future);
+
+        // 호출한 쓰레드는 바로 부모 깊이로 돌아온다.
+        assertThat(trace.getTraceId()).isSameAs(parent.getTraceId());
+        assertThat(result.toCompletableFuture()).isNotDone();
+
+        future.complete("ok");
+        assertThat(result.toCompletableFuture().join()).isEqualTo("ok");
+        assertThat(trace.getTraceId()).isSameAs(parent.getTraceId());
+        trace.end(parent);
+        assertThat(trace.getTraceId()).isNull();
+    }
+
+    @Test
+    void complete_on_other_thread() throws InterruptedException {
+        TraceStatus parent = trace.begin("OrderService.orderItem()");
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CompletionStage<String> result = template.execute("OrderRepository.save()", () -> future);
+        trace.end(parent);
+
+        TraceId[] completerId = new TraceId[1];
+        Thread completer = new Thread(() -> {
+            future.complete("ok");
+            completerId[0] = trace.getTraceId();
+        });
+        completer.start();
+        completer.join();
+
+        assertThat(result.toCompletableFuture().join()).isEqualTo("ok");
+        assertThat(completerId[0]).isNull();
+        assertThat(trace.getTraceId()).isNull();
+    }
+
+    @Test
+    void out_of_order(){
+        TraceStatus parent = trace.begin("OrderService.orderItem()");
+        CompletableFuture<String> first = new CompletableFuture<>();
+        CompletableFuture<String> second = new CompletableFuture<>();
+        CompletionStage<String> firstResult = template.execute("OrderRepository.first()", () -> first);
+        CompletionStage<String> secondResult = template.execute("OrderRepository.second()", () -> second);
+
+        second.complete("second");
+        assertThat(trace.getTraceId()).isSameAs(parent.getTraceId());
+        first.complete("first");
+        assertThat(trace.getTraceId()).isSameAs(parent.getTraceId());
+
+        assertThat(firstResult.toCompletableFuture().join()).isEqualTo("first");
+        assertThat(secondResult.toCompletableFuture().join()).isEqualTo("second");
+        trace.end(parent);
+        assertThat(trace.getTraceId()).isNull();
+    }
+
+    @Test
+    void exceptionally(){
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CompletionStage<String> result = template.execute("OrderRepository.save()", () -> future);
+        future.completeExceptionally(new IllegalStateException("예외 발생!"));
+
+        assertThatThrownBy(() -> result.toCompletableFuture().get())
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(trace.getTraceId()).isNull();
+    }
+
+    @Test
+    void requires_trace_context_holder(){
+        assertThatThrownBy(() -> new AsyncTraceTemplate(new FieldLogTrace()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void null_stage(){
+        TraceStatus parent = trace.begin("OrderService.orderItem()");
+        assertThatThrownBy(() -> template.execute("OrderRepository.save()", () -> null))
+                .isInstanceOf(NullPointerException.class);
+
+        // span 이 닫혀 부모 깊이로 돌아온다.
+        assertThat(trace.getTraceId()).isSameAs(parent.getTraceId());
+        trace.end(parent);
+        assertThat(trace.getTraceId()).isNull();
+    }
+
+    @Test
+    void latency_complete_on_other_thread() throws InterruptedException {
+        SpanLatencyRegistry registry = new SpanLatencyRegistry();
+        LatencyLogTrace latencyTrace = new LatencyLogTrace(new ThreadLocalLogTrace(), registry);
+        AsyncTraceTemplate latencyTemplate = new AsyncTraceTemplate(latencyTrace);
+
+        TraceStatus parent = latencyTrace.begin("OrderService.orderItem()");
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CompletionStage<String> result = latencyTemplate.execute("OrderRepository.save()", () -> future);
+        // 부모가 먼저 끝나고 자식은 다른 쓰레드에서 나중에 끝난다.
+        latencyTrace.end(parent);
+
+        Thread completer = new Thread(() -> {
+            sleep(20);
+            future.complete("ok");
+        });
+        completer.start();
+        completer.join();
+
+        assertThat(result.toCompletableFuture().join()).isEqualTo("ok");
+        assertThat(registry.snapshots()).containsOnlyKeys("OrderService.orderItem()", "OrderRepository.save()");
+        assertThat(registry.snapshots().get("OrderService.orderItem()").getCount()).isEqualTo(1);
+        assertThat(registry.snapshots().get("OrderRepository.save()").getCount()).isEqualTo(1);
+        assertThat(registry.snapshots().get("OrderRepository.save()").getMax()).isGreaterThanOrEqualTo(20_000);
+        assertThat(registry.snapshots().get("OrderService.orderItem()").getMax())
+                .isLessThan(registry.snapshots().get("OrderRepository.save()").getMax());
+        assertThat(latencyTrace.getTraceId()).isNull();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package hello.advanced.trace.journal;
+
+import hello.advanced.trace.TraceStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JournalLogTraceTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void begin_end_level2() throws IOException {
+        try (JournalLogTrace trace = new JournalLogTrace(directory, 1024, 4)) {
+            TraceStatus status1 = trace.begin("hello1");
+            TraceStatus status2 = trace.begin("hello2");
+            trace.end(status2);
+            trace.exception(status1, new IllegalStateException());
+            assertThat(trace.getTraceId()).isNull();
+        }
+
+        Map<String, List<JournalSpan>> trees = new TraceJournalReader(directory).readTrees();
+        assertThat(trees).hasSize(1);
+        List<JournalSpan> spans = trees.values().iterator().next();
+        assertThat(spans).extracting(JournalSpan::getName).containsExactly("hello1", "hello2");
+        assertThat(spans).extracting(JournalSpan::getDepth).containsExactly(0, 1);
+        assertThat(spans).extracting(JournalSpan::isException).containsExactly(true, false);
+        assertThat(spans.get(0).getDurationNs()).isGreaterThanOrEqualTo(spans.get(1).getDurationNs());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new TraceJournalReader(directory).printTrees(new PrintStream(out, true, StandardCharsets.UTF_8), 10);
+        assertThat(out.toString(StandardCharsets.UTF_8))
+                .contains("] hello1 time=")
+                .contains("] |-->hello2 time=");
+    }
+
+    @Test
+    void rolling() throws IOException {
+        // header(64) + 레코드 3개 -> 10 개를 쓰면 세그먼트 4개, 오래된 1개는 지워진다.
+        try (JournalLogTrace trace = new JournalLogTrace(directory, 64 + 32 * 3, 3)) {
+            for (int i = 0; i < 10; i++) {
+                trace.end(trace.begin("hello"));
+            }
+            assertThat(trace.getWrittenCount()).isEqualTo(10);
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.filter(path -> JournalFormat.isSegment(path.getFileName().toString()))).hasSize(3);
+        }
+        assertThat(new TraceJournalReader(directory).readSpans()).hasSize(7);
+    }
+
+    @Test
+    void next_segment_prepared_in_background() throws Exception {
+        try (JournalLogTrace trace = new JournalLogTrace(directory, 1024, 4)) {
+            // 요청 쓰레드가 넘기 전에 다음 세그먼트 파일이 이미 만들어진다.
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (segmentCount() < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(segmentCount()).isEqualTo(2);
+        }
+        // 쓰지 않은 예비 세그먼트는 닫을 때 지운다.
+        assertThat(segmentCount()).isEqualTo(1);
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> JournalFormat.isSegment(path.getFileName().toString())).count();
+        }
+    }
+
+    @Test
+    void concurrent_append() throws Exception {
+        int threads = 8;
+        int spansPerThread = 10_000;
+        try (JournalLogTrace trace = new JournalLogTrace(directory, 64 * 1024, 1_000)) {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            for (int t = 0; t < threads; t++) {
+                executor.execute(() -> {
+                    for (int i = 0; i < spansPerThread; i++) {
+                        TraceStatus parent = trace.begin("OrderService.orderItem()");
+                        trace.end(trace.begin("OrderRepository.save()"));
+                        trace.end(parent);
+                    }
+                });
+            }
+            executor.shutdown();
+            assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+            assertThat(trace.getDroppedCount()).isZero();
+        }
+
+        List<JournalSpan> spans = new TraceJournalReader(directory).readSpans();
+        assertThat(spans).hasSize(threads * spansPerThread * 2);
+        assertThat(spans).filteredOn(span -> span.getDepth() == 1)
+                .extracting(JournalSpan::getName)
+                .containsOnly("OrderRepository.save()");
+    }
+
+    @Test
+    void resume_after_restart() throws IOException {
+        try (JournalLogTrace trace = new JournalLogTrace(directory, 1024, 4)) {
+            trace.end(trace.begin("hello1"));
+        }
+        try (JournalLogTrace trace = new JournalLogTrace(directory, 1024, 4)) {
+            trace.end(trace.begin("hello2"));
+            trace.end(trace.begin("hello1"));
+        }
+
+        assertThat(new TraceJournalReader(directory).readSpans())
+                .extracting(JournalSpan::getName)
+                .containsExactly("hello1", "hello2", "hello1");
+    }
+
+    @Test
+    void wall_clock_time() throws IOException {
+        long before = System.currentTimeMillis();
+        try (JournalLogTrace trace = new JournalLogTrace(directory, 1024, 4)) {
+            trace.end(trace.begin("hello1"));
+        }
+        long after = System.currentTimeMillis();
+
+        JournalSpan span = new TraceJournalReader(directory).readSpans().get(0);
+        assertThat(span.getStartTimeNs() / 1_000_000).isBetween(before - 1, after + 1);
+    }
+
+    @Test
+    void same_trace_id_in_different_runs() throws IOException {
+        // 재시작 후 같은 8자리 traceId 가 다시 나와도 다른 trace 로 읽는다.
+        long traceId = JournalFormat.encodeTraceId("abcd1234");
+        JournalSegment run0 = JournalSegment.create(directory, 0, 1024, 0);
+        run0.write(run0.reserve(), traceId, 100, 200, 1, 0, JournalFormat.STATUS_OK);
+        JournalSegment run1 = JournalSegment.create(directory, 1, 1024, 1);
+        run1.write(run1.reserve(), traceId, 100, 200, 1, 0, JournalFormat.STATUS_OK);
+        run0.force();
+        run1.force();
+
+        Map<String, List<JournalSpan>> trees = new TraceJournalReader(directory).readTrees();
+        assertThat(trees).containsOnlyKeys("0-abcd1234", "1-abcd1234");
+        assertThat(trees.values()).allSatisfy(spans -> assertThat(spans).hasSize(1));
+    }
+
+    @Test
+    void segment_size_over_2gb() {
+        int segmentSizeMb = 4096;
+        assertThatThrownBy(() -> new JournalLogTrace(directory, segmentSizeMb * 1024L * 1024, 4))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,88 @@
+package hello.advanced.trace.latency;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTest {
+
+    @Test
+    void index_round_trip(){
+        for (long value = 0; value < 1_000_000; value++) {
+            long highest = LatencyHistogram.highestEquivalentValue(LatencyHistogram.indexOf(value));
+            assertThat(highest).isGreaterThanOrEqualTo(value);
+            assertThat(highest - value).isLessThanOrEqualTo(value / 128);
+        }
+    }
+
+    @Test
+    void percentiles(){
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histogram.record(micros);
+        }
+        LatencySnapshot snapshot = histogram.snapshot();
+
+        assertThat(snapshot.getCount()).isEqualTo(10_000);
+        assertThat(snapshot.getP50()).isCloseTo(5_000, within(5_000 / 100L));
+        assertThat(snapshot.getP90()).isCloseTo(9_000, within(9_000 / 100L));
+        assertThat(snapshot.getP99()).isCloseTo(9_900, within(9_900 / 100L));
+        assertThat(snapshot.getP999()).isCloseTo(9_990, within(9_990 / 100L));
+        assertThat(snapshot.getMax()).isEqualTo(10_000);
+    }
+
+    @Test
+    void stripes_allocated_on_first_record(){
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertThat(histogram.allocatedStripeCount()).isZero();
+        assertThat(histogram.snapshot().getCount()).isZero();
+
+        // 한 쓰레드에서만 기록하면 stripe 하나만 만든다.
+        for (int i = 0; i < 1000; i++) {
+            histogram.record(i);
+        }
+        assertThat(histogram.allocatedStripeCount()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrent_record() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < 100_000; j++) {
+                    histogram.record(j % 1000);
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertThat(histogram.snapshot().getCount()).isEqualTo(800_000);
+        assertThat(histogram.snapshot().getMax()).isEqualTo(999);
+    }
+
+    @Test
+    void no_allocation_on_record(){
+        SpanLatencyRegistry registry = new SpanLatencyRegistry();
+        for (int i = 0; i < 100_000; i++) {
+            registry.record("OrderService.orderItem()", i * 1000L);
+        }
+
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int count = 100_000;
+        long before = threadMXBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < count; i++) {
+            registry.record("OrderService.orderItem()", i * 1000L);
+        }
+        long allocated = threadMXBean.getCurrentThreadAllocatedBytes() - before;
+
+        assertThat(allocated / count).isZero();
+    }
+}
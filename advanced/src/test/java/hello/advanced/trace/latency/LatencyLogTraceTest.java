@@ -0,0 +1,92 @@
+package hello.advanced.trace.latency;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import hello.advanced.trace.TraceStatus;
+import hello.advanced.trace.logtrace.FrameStackLogTrace;
+import hello.advanced.trace.logtrace.ThreadLocalLogTrace;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyLogTraceTest {
+    SpanLatencyRegistry registry = new SpanLatencyRegistry();
+    LatencyLogTrace trace = new LatencyLogTrace(new ThreadLocalLogTrace(), registry);
+
+    @Test
+    void record_per_span() throws InterruptedException {
+        TraceStatus status1 = trace.begin("OrderService.orderItem()");
+        TraceStatus status2 = trace.begin("OrderRepository.save()");
+        Thread.sleep(5);
+        trace.end(status2);
+        trace.exception(status1, new IllegalStateException());
+
+        assertThat(registry.snapshots()).containsOnlyKeys("OrderService.orderItem()", "OrderRepository.save()");
+        LatencySnapshot save = registry.snapshots().get("OrderRepository.save()");
+        assertThat(save.getCount()).isEqualTo(1);
+        assertThat(save.getMax()).isGreaterThanOrEqualTo(5_000);
+        assertThat(registry.snapshots().get("OrderService.orderItem()").getMax()).isGreaterThanOrEqualTo(save.getMax());
+    }
+
+    @Test
+    void record_by_status_out_of_order() throws InterruptedException {
+        TraceStatus status1 = trace.begin("OrderService.orderItem()");
+        TraceStatus status2 = trace.begin("OrderRepository.save()");
+        Thread.sleep(5);
+        // 순서가 바뀌어도 각 span 은 자기 시작 시간으로 잰다.
+        trace.end(status1);
+        trace.end(status2);
+
+        assertThat(registry.snapshots().get("OrderService.orderItem()").getMax()).isGreaterThanOrEqualTo(5_000);
+        assertThat(registry.snapshots().get("OrderRepository.save()").getMax()).isGreaterThanOrEqualTo(5_000);
+    }
+
+    @Test
+    void missing_end_does_not_shift_spans() {
+        trace.begin("OrderService.leaked()");
+        TraceStatus status = trace.begin("OrderRepository.save()");
+        trace.end(status);
+
+        assertThat(registry.snapshots()).containsOnlyKeys("OrderRepository.save()");
+    }
+
+    /**
+     * FrameStackLogTrace 를 감싸도 기록 때문에 늘어나는 할당이 없다. (FrameStackLogTraceTest 와 같은 기준)
+     */
+    @Test
+    void no_allocation_on_record(){
+        Logger logger = (Logger) LoggerFactory.getLogger(FrameStackLogTrace.class);
+        Level level = logger.getLevel();
+        logger.setLevel(Level.WARN);
+        try {
+            LatencyLogTrace frameTrace = new LatencyLogTrace(new FrameStackLogTrace(), registry);
+            request(frameTrace, 200_000);
+
+            com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            int count = 100_000;
+            long before = threadMXBean.getCurrentThreadAllocatedBytes();
+            request(frameTrace, count);
+            long allocated = threadMXBean.getCurrentThreadAllocatedBytes() - before;
+
+            // 루트마다 만드는 trace id 문자열 말고는 없다.
+            assertThat(allocated).isLessThan(64L * count);
+            assertThat(registry.snapshots().get("OrderRepository.save()").getCount()).isEqualTo(300_000);
+        } finally {
+            logger.setLevel(level);
+        }
+    }
+
+    private static void request(LatencyLogTrace trace, int count) {
+        for (int i = 0; i < count; i++) {
+            TraceStatus root = trace.begin("OrderController.request()");
+            TraceStatus status1 = trace.begin("OrderService.orderItem()");
+            TraceStatus status2 = trace.begin("OrderRepository.save()");
+            trace.end(status2);
+            trace.end(status1);
+            trace.end(root);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package hello.advanced.trace.logtrace;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import hello.advanced.trace.TraceId;
+import hello.advanced.trace.TraceStatus;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FrameStackLogTraceTest {
+    FrameStackLogTrace trace = new FrameStackLogTrace();
+
+    @Test
+    void begin_end_level2(){
+        TraceStatus status1 = trace.begin("hello1");
+        TraceStatus status2 = trace.begin("hello2");
+        trace.end(status2);
+        trace.end(status1);
+    }
+
+    @Test
+    void begin_exception_level2(){
+        TraceStatus status1 = trace.begin("hello1");
+        TraceStatus status2 = trace.begin("hello2");
+        trace.exception(status2, new IllegalStateException());
+        trace.exception(status1, new IllegalStateException());
+    }
+
+    @Test
+    void same_trace_id_and_level(){
+        TraceStatus status1 = trace.begin("hello1");
+        TraceStatus status2 = trace.begin("hello2");
+        assertThat(status2.getTraceId().getId()).isEqualTo(status1.getTraceId().getId());
+        assertThat(status1.getTraceId().isFirstLevel()).isTrue();
+        assertThat(status2.getTraceId().getLevel()).isEqualTo(1);
+        trace.end(status2);
+        trace.end(status1);
+
+        TraceStatus status3 = trace.begin("hello3");
+        assertThat(status3.getTraceId().getId()).isNotEqualTo(status2.getTraceId().getId());
+        trace.end(status3);
+    }
+
+    @Test
+    void next_id_keeps_id(){
+        TraceStatus status = trace.begin("hello1");
+        TraceId nextId = status.getTraceId().createNextId();
+        assertThat(nextId.getId()).isEqualTo(status.getTraceId().getId());
+        assertThat(nextId.getLevel()).isEqualTo(1);
+        assertThat(nextId.createPreviousId().isFirstLevel()).isTrue();
+        trace.end(status);
+    }
+
+    /**
+     * 워밍업 이후 루트 begin/end 를 포함해 요청 하나당 할당은 trace id 문자열 하나 뿐이다.
+     * (로그 출력은 빼고 trace 자체만 잰다)
+     */
+    @Test
+    void no_allocation_after_warmup(){
+        Logger logger = (Logger) LoggerFactory.getLogger(FrameStackLogTrace.class);
+        Level level = logger.getLevel();
+        logger.setLevel(Level.WARN);
+        try {
+            request(200_000);
+
+            com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            int count = 100_000;
+            long before = threadMXBean.getCurrentThreadAllocatedBytes();
+            request(count);
+            long allocated = threadMXBean.getCurrentThreadAllocatedBytes() - before;
+
+            // id String + byte[8] 는 64 바이트 안쪽
+            assertThat(allocated).isLessThan(64L * count);
+        } finally {
+            logger.setLevel(level);
+        }
+    }
+
+    private void request(int count) {
+        for (int i = 0; i < count; i++) {
+            TraceStatus root = trace.begin("root");
+            TraceStatus status1 = trace.begin("hello1");
+            TraceStatus status2 = trace.begin("hello2");
+            trace.end(status2);
+            trace.end(status1);
+            trace.end(root);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package hello.advanced.trace.sampling;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import hello.advanced.trace.TraceStatus;
+import hello.advanced.trace.propagation.TraceExecutors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SamplingLogTraceTest {
+    Logger logger = (Logger) LoggerFactory.getLogger(SamplingLogTrace.class);
+    ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void attach() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void detach() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void head_sampled(){
+        SamplingLogTrace trace = new SamplingLogTrace(1.0, -1, 256);
+        beginEnd(trace);
+        assertThat(appender.list).hasSize(4);
+    }
+
+    @Test
+    void not_sampled(){
+        SamplingLogTrace trace = new SamplingLogTrace(0.0, -1, 256);
+        beginEnd(trace);
+        beginEnd(trace);
+        assertThat(appender.list).isEmpty();
+    }
+
+    @Test
+    void tail_fast_request_discarded(){
+        SamplingLogTrace trace = new SamplingLogTrace(0.0, 10_000, 256);
+        beginEnd(trace);
+        assertThat(appender.list).isEmpty();
+    }
+
+    @Test
+    void tail_exception_emitted(){
+        SamplingLogTrace trace = new SamplingLogTrace(0.0, 10_000, 256);
+        TraceStatus status1 = trace.begin("hello1");
+        TraceStatus status2 = trace.begin("hello2");
+        trace.exception(status2, new IllegalStateException());
+        trace.exception(status1, new IllegalStateException());
+
+        assertThat(appender.list).extracting(ILoggingEvent::getFormattedMessage)
+                .hasSize(4)
+                .allMatch(line -> line.startsWith("[" + status1.getTraceId().getId() + "]"));
+        assertThat(appender.list.get(2).getFormattedMessage()).contains("|<X-hello2");
+    }
+
+    @Test
+    void tail_slow_request_emitted() throws InterruptedException {
+        SamplingLogTrace trace = new SamplingLogTrace(0.0, 10, 256);
+        TraceStatus status1 = trace.begin("hello1");
+        TraceStatus status2 = trace.begin("hello2");
+        Thread.sleep(20);
+        trace.end(status2);
+        trace.end(status1);
+        assertThat(appender.list).hasSize(4);
+    }
+
+    @Test
+    void tail_buffer_bounded(){
+        SamplingLogTrace trace = new SamplingLogTrace(0.0, 0, 2);
+        beginEnd(trace);
+        assertThat(appender.list).hasSize(3); // 2 개 + dropped 로그
+        assertThat(trace.getDroppedSpanCount()).isEqualTo(2);
+    }
+
+    @Test
+    void propagated_sampled() throws ExecutionException, InterruptedException {
+        SamplingLogTrace trace = new SamplingLogTrace(1.0, -1, 256);
+        ExecutorService executor = TraceExecutors.wrap(Executors.newSingleThreadExecutor(), trace);
+        try {
+            TraceStatus parent = trace.begin("OrderService.orderItems()");
+            TraceStatus child = CompletableFuture.supplyAsync(() -> {
+                TraceStatus status = trace.begin("OrderRepository.save()");
+                trace.end(status);
+                return status;
+            }, executor).join();
+            trace.end(parent);
+
+            assertThat(child.getTraceId().getId()).isEqualTo(parent.getTraceId().getId());
+            assertThat(child.getTraceId().getLevel()).isEqualTo(1);
+            assertThat(appender.list).hasSize(4);
+            assertThat(trace.getTraceId()).isNull();
+            assertThat(executor.submit(trace::getTraceId).get()).isNull();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void propagated_not_sampled(){
+        // 요청에서 뽑히지 않았으면 작업 쓰레드도 남기지 않는다.
+        SamplingLogTrace trace = new SamplingLogTrace(0.0, -1, 256);
+        ExecutorService executor = TraceExecutors.wrap(Executors.newSingleThreadExecutor(), trace);
+        try {
+            TraceStatus parent = trace.begin("OrderService.orderItems()");
+            CompletableFuture.runAsync(() -> beginEnd(trace), executor).join();
+            trace.end(parent);
+
+            assertThat(appender.list).isEmpty();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void beginEnd(SamplingLogTrace trace) {
+        TraceStatus status1 = trace.begin("hello1");
+        TraceStatus status2 = trace.begin("hello2");
+        trace.end(status2);
+        trace.end(status1);
+    }
+}
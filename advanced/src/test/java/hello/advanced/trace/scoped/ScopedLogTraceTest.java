@@ -0,0 +1,132 @@
+package hello.advanced.trace.scoped;
+
+import hello.advanced.trace.TraceId;
+import hello.advanced.trace.TraceStatus;
+import hello.advanced.trace.callback.TraceTemplate;
+import hello.advanced.trace.latency.LatencyLogTrace;
+import hello.advanced.trace.latency.SpanLatencyRegistry;
+import hello.advanced.trace.propagation.TraceExecutors;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScopedLogTraceTest {
+    ScopedLogTrace trace = new ScopedLogTrace(new ThreadLocalTraceBinding());
+    TraceTemplate template = new TraceTemplate(trace);
+
+    @Test
+    void nested_scope(){
+        TraceId[] ids = new TraceId[3];
+        template.execute("OrderController.request()", () -> {
+            ids[0] = trace.getTraceId();
+            return template.execute("OrderService.orderItem()", () -> {
+                ids[1] = trace.getTraceId();
+                return template.execute("OrderRepository.save()", () -> ids[2] = trace.getTraceId());
+            });
+        });
+
+        assertThat(ids).extracting(TraceId::getLevel).containsExactly(0, 1, 2);
+        assertThat(ids).extracting(TraceId::getId).containsOnly(ids[0].getId());
+        // 범위를 벗어나면 쓰레드에 남는 값이 없다.
+        assertThat(trace.getTraceId()).isNull();
+    }
+
+    @Test
+    void sibling_scope(){
+        TraceId[] ids = new TraceId[2];
+        template.execute("OrderController.request()", () -> {
+            template.execute("OrderService.first()", () -> ids[0] = trace.getTraceId());
+            template.execute("OrderService.second()", () -> ids[1] = trace.getTraceId());
+            return null;
+        });
+
+        assertThat(ids).extracting(TraceId::getLevel).containsExactly(1, 1);
+    }
+
+    @Test
+    void exception(){
+        assertThatThrownBy(() -> template.execute("OrderController.request()", () ->
+                template.execute("OrderService.orderItem()", () -> {
+                    throw new IllegalStateException("예외 발생!");
+                })))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(trace.getTraceId()).isNull();
+    }
+
+    @Test
+    void default_binding(){
+        // JDK 에 따라 ScopedValue 또는 ThreadLocal, 동작은 같아야 한다.
+        ScopedLogTrace defaultTrace = new ScopedLogTrace();
+        TraceTemplate defaultTemplate = new TraceTemplate(defaultTrace);
+
+        Integer level = defaultTemplate.execute("OrderController.request()", () ->
+                defaultTemplate.execute("OrderService.orderItem()", () -> defaultTrace.getTraceId().getLevel()));
+
+        assertThat(level).isEqualTo(1);
+        assertThat(defaultTrace.getTraceId()).isNull();
+    }
+
+    @Test
+    void unscoped_begin_is_root(){
+        // 범위 밖의 begin() 은 루트가 되고 쓰레드에 값을 남기지 않는다.
+        TraceStatus status1 = trace.begin("OrderController.request()");
+        assertThat(trace.getTraceId()).isNull();
+        TraceStatus status2 = trace.begin("OrderController.request()");
+        assertThat(status2.getTraceId().isFirstLevel()).isTrue();
+        assertThat(status2.getTraceId().getId()).isNotEqualTo(status1.getTraceId().getId());
+        trace.end(status2);
+        trace.end(status1);
+        assertThat(trace.getTraceId()).isNull();
+    }
+
+    @Test
+    void wrapped_by_latency_trace(){
+        // LatencyLogTrace 로 감싸도 TraceTemplate 의 범위가 ScopedLogTrace 까지 전달된다.
+        LatencyLogTrace latencyTrace = new LatencyLogTrace(trace, new SpanLatencyRegistry());
+        TraceTemplate latencyTemplate = new TraceTemplate(latencyTrace);
+
+        TraceId[] ids = new TraceId[2];
+        latencyTemplate.execute("OrderController.request()", () -> {
+            ids[0] = trace.getTraceId();
+            return latencyTemplate.execute("OrderService.orderItem()", () -> ids[1] = trace.getTraceId());
+        });
+
+        assertThat(ids).extracting(TraceId::getLevel).containsExactly(0, 1);
+        assertThat(ids[1].getId()).isEqualTo(ids[0].getId());
+        assertThat(trace.getTraceId()).isNull();
+    }
+
+    @Test
+    void propagated_to_executor() throws ExecutionException, InterruptedException {
+        ExecutorService executor = TraceExecutors.wrap(Executors.newSingleThreadExecutor(), trace);
+        try {
+            TraceId[] ids = new TraceId[2];
+            template.execute("OrderService.orderItems()", () -> {
+                ids[0] = trace.getTraceId();
+                return CompletableFuture.runAsync(() ->
+                        template.execute("OrderRepository.save()", () -> ids[1] = trace.getTraceId()), executor).join();
+            });
+
+            assertThat(ids[1].getId()).isEqualTo(ids[0].getId());
+            assertThat(ids[1].getLevel()).isEqualTo(1);
+            // 작업 쓰레드에도 남는 값이 없다.
+            assertThat(executor.submit(trace::getTraceId).get()).isNull();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void set_trace_id_outside_scope(){
+        trace.setTraceId(null); // 지금 값과 같으면 허용
+        assertThatThrownBy(() -> trace.setTraceId(new TraceId()))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+}
@@ -0,0 +1,106 @@
+package hello.aop.benchmark;
+
+import hello.aop.exam.cache.TinyLfuCache;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Zipf 분포 키로 조회, 없으면 적재. TinyLfuCache(크기 제한) 와 ConcurrentHashMap(제한 없음) 비교
+ * tinyLfu 의 적중/실패 횟수는 JMH 결과에 hit, miss 로 같이 나온다. (AuxCounters)
+ * 크기와 eviction 수는 TearDown 에서 로그로 남긴다.
+ */
+@State(Scope.Benchmark)
+@Threads(4)
+public class CacheBenchmark {
+    private static final Logger log = LoggerFactory.getLogger(CacheBenchmark.class);
+    private static final int KEY_SPACE = 100_000;
+    private static final int SAMPLES = 1 << 16;
+
+    @Param({"1000"})
+    int maxSize;
+
+    private Integer[] keys;
+    private TinyLfuCache<Integer, String> tinyLfu;
+    private ConcurrentHashMap<Integer, String> map;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int index = new Random().nextInt(SAMPLES);
+
+        Integer next(Integer[] keys) {
+            return keys[index++ & (SAMPLES - 1)];
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HitCounters {
+        public long hit;
+        public long miss;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            hit = 0;
+            miss = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        double[] cdf = new double[KEY_SPACE];
+        double sum = 0;
+        for (int i = 0; i < KEY_SPACE; i++) {
+            sum += 1.0 / Math.pow(i + 1, 0.9);
+            cdf[i] = sum;
+        }
+        Random random = new Random(1);
+        keys = new Integer[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            int index = Arrays.binarySearch(cdf, random.nextDouble() * sum);
+            keys[i] = index < 0 ? -index - 1 : index;
+        }
+        tinyLfu = new TinyLfuCache<>(maxSize, 0);
+        map = new ConcurrentHashMap<>();
+    }
+
+    @TearDown(Level.Trial)
+    public void report() {
+        log.info("tinyLfu {} size={}, map size={}", tinyLfu.stats(), tinyLfu.size(), map.size());
+    }
+
+    @Benchmark
+    public String tinyLfu(Cursor cursor, HitCounters counters) {
+        Integer key = cursor.next(keys);
+        String value = tinyLfu.getIfPresent(key);
+        if (value == null) {
+            counters.miss++;
+            value = load(key);
+            tinyLfu.put(key, value);
+        } else {
+            counters.hit++;
+        }
+        return value;
+    }
+
+    @Benchmark
+    public String concurrentHashMap(Cursor cursor) {
+        return map.computeIfAbsent(cursor.next(keys), CacheBenchmark::load);
+    }
+
+    private static String load(Integer key) {
+        return "value-" + key;
+    }
+}
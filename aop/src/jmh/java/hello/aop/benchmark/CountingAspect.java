@@ -0,0 +1,23 @@
+package hello.aop.benchmark;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * 어드바이스 자체 비용은 거의 없게 두고 호출 경로(프록시 vs 위빙) 비용만 보이도록 한다.
+ */
+@Aspect
+public class CountingAspect {
+    private long count;
+
+    @Around("execution(* hello.aop.benchmark.*Target.*(..))")
+    public Object count(ProceedingJoinPoint joinPoint) throws Throwable {
+        count++;
+        return joinPoint.proceed();
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
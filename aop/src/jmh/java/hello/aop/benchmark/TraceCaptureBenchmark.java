@@ -0,0 +1,64 @@
+package hello.aop.benchmark;
+
+import hello.aop.exam.annotation.ArgCapture;
+import hello.aop.exam.annotation.Trace;
+import hello.aop.exam.aop.TraceArgs;
+import hello.aop.exam.aop.TraceAspect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Arrays;
+
+/**
+ * save(String) 경로에서 @Trace 인자 캡처 비용
+ * - eager: 기존 TraceAspect 처럼 getArgs() 를 만들고 문자열로 바꾸는 비용
+ * - types/truncated/hashed: 정책별 TraceArgs 비용 (NONE 은 아무 일도 하지 않는다)
+ * - proxySaveLogDisabled: TraceAspect 로거가 꺼져 있을 때(logback.xml) 프록시 호출 전체 비용
+ */
+@State(Scope.Benchmark)
+public class TraceCaptureBenchmark {
+    private final Object[] args = {"item-" + "x".repeat(200)};
+    private Repository proxy;
+
+    @Setup
+    public void setup() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Repository());
+        factory.addAspect(new TraceAspect());
+        proxy = factory.getProxy();
+    }
+
+    @Benchmark
+    public String eager() {
+        return Arrays.toString(args.clone());
+    }
+
+    @Benchmark
+    public String types() {
+        return TraceArgs.types(new Class<?>[]{String.class});
+    }
+
+    @Benchmark
+    public String truncated() {
+        return TraceArgs.format(args, ArgCapture.TRUNCATED, 64);
+    }
+
+    @Benchmark
+    public String hashed() {
+        return TraceArgs.format(args, ArgCapture.HASHED, 64);
+    }
+
+    @Benchmark
+    public String proxySaveLogDisabled() {
+        return proxy.save("item");
+    }
+
+    public static class Repository {
+        @Trace
+        public String save(String itemId) {
+            return "ok";
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package hello.aop.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+/**
+ * 같은 어드바이스를 스프링 프록시(AspectJProxyFactory)로 거는 경우와 로드 타임 위빙으로 거는 경우 비교
+ * ./gradlew jmh -Pweaving=ltw 로 돌려야 WovenTarget 이 위빙된다. 에이전트 없이 돌리면 woven 은 plain 과 같다.
+ * external() 은 내부에서 internal() 을 부르므로 위빙 쪽은 어드바이스가 두 번, 프록시 쪽은 한 번 실행된다.
+ */
+@State(Scope.Benchmark)
+public class WeavingBenchmark {
+    private ProxyTarget plain;
+    private ProxyTarget proxy;
+    private WovenTarget woven;
+    private int value;
+
+    @Setup
+    public void setup() {
+        plain = new ProxyTarget();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new ProxyTarget());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new CountingAspect());
+        proxy = factory.getProxy();
+        woven = new WovenTarget();
+    }
+
+    @Benchmark
+    public int plain() {
+        return plain.internal(value++);
+    }
+
+    @Benchmark
+    public int proxy() {
+        return proxy.internal(value++);
+    }
+
+    @Benchmark
+    public int woven() {
+        return woven.internal(value++);
+    }
+
+    @Benchmark
+    public int proxyInternalCall() {
+        return proxy.external(value++);
+    }
+
+    @Benchmark
+    public int wovenInternalCall() {
+        return woven.external(value++);
+    }
+}
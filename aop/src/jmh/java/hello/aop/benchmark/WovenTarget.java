@@ -0,0 +1,11 @@
+package hello.aop.benchmark;
+
+public class WovenTarget {
+    public int external(int value) {
+        return internal(value) + 1;
+    }
+
+    public int internal(int value) {
+        return value * 31;
+    }
+}
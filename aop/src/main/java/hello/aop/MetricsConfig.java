@@ -0,0 +1,30 @@
+package hello.aop;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * actuator 없이 aspect 의 메트릭(retry.*, cache.*)을 모으는 MeterRegistry
+ * 로드 타임 위빙에서는 AspectJ 가 만든 aspect 가 Metrics.globalRegistry 에 기록하므로 전역 레지스트리에도 붙인다.
+ */
+@Configuration
+public class MetricsConfig {
+    @Bean
+    public SimpleMeterRegistry meterRegistry() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+        return registry;
+    }
+
+    // 컨텍스트가 내려가면 전역 레지스트리에서 뗀다.
+    @Bean
+    public DisposableBean meterRegistryRemover(SimpleMeterRegistry meterRegistry) {
+        return () -> {
+            Metrics.removeRegistry(meterRegistry);
+            meterRegistry.close();
+        };
+    }
+}
@@ -1,22 +1,56 @@
 package hello.aop.exam;
 
+import hello.aop.exam.annotation.Bulkhead;
+import hello.aop.exam.annotation.CircuitBreaker;
 import hello.aop.exam.annotation.Retry;
 import hello.aop.exam.annotation.Trace;
 import org.springframework.stereotype.Repository;
 
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
 @Repository
 public class ExamRepository {
-    private static int seq = 0;
+    // 몇 번째 요청인지 알아야 하므로 순번은 AtomicLong, 단순 집계는 경합에 강한 LongAdder
+    private final AtomicLong seq = new AtomicLong();
+    private final LongAdder successCount = new LongAdder();
+    private final LongAdder failureCount = new LongAdder();
+    private final LongAdder findCount = new LongAdder();
+
     /**
      * 5번에 1번 실패하는 요청
      */
     @Trace
     @Retry(4)
+    @CircuitBreaker
+    @Bulkhead
     public String save(String itemId){
-        seq++;
-        if(seq % 5 == 0){
+        if(seq.incrementAndGet() % 5 == 0){
+            failureCount.increment();
             throw new IllegalStateException("예외 발생!");
         }
+        successCount.increment();
         return "ok";
     }
+
+    public String find(String itemId){
+        findCount.increment();
+        return "item-" + itemId;
+    }
+
+    public long getRequestCount() {
+        return seq.get();
+    }
+
+    public long getSuccessCount() {
+        return successCount.sum();
+    }
+
+    public long getFailureCount() {
+        return failureCount.sum();
+    }
+
+    public long getFindCount() {
+        return findCount.sum();
+    }
 }
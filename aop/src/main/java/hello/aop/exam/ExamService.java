@@ -1,5 +1,6 @@
 package hello.aop.exam;
 
+import hello.aop.exam.annotation.Cached;
 import hello.aop.exam.annotation.Trace;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -13,4 +14,13 @@ public class ExamService {
     public void request(String itemId){
         examRepository.save(itemId);
     }
+
+    /**
+     * 같은 itemId 는 10초 동안 저장소를 다시 조회하지 않는다.
+     */
+    @Trace
+    @Cached(maxSize = 1000, ttlMs = 10_000)
+    public String find(String itemId){
+        return examRepository.find(itemId);
+    }
 }
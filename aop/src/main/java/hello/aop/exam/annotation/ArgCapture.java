@@ -0,0 +1,24 @@
+package hello.aop.exam.annotation;
+
+/**
+ * @Trace 가 인자를 로그에 남기는 방식
+ */
+public enum ArgCapture {
+    /**
+     * 인자를 남기지 않는다. getArgs() 도 호출하지 않는다.
+     */
+    NONE,
+    /**
+     * 선언된 파라미터 타입만 남긴다. 인자 배열을 복사하지 않는다.
+     */
+    TYPES,
+    /**
+     * toString 을 maxLength 까지만 남긴다. 컬렉션, 맵, 배열은 전체를 문자열로 만들지 않고 원소 단위로 끊는다.
+     * 그 밖의 객체는 toString() 전체를 만든 뒤 자르므로 비용은 그대로다.
+     */
+    TRUNCATED,
+    /**
+     * 값 대신 hashCode 를 남긴다. (개인정보 등)
+     */
+    HASHED
+}
@@ -0,0 +1,17 @@
+package hello.aop.exam.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 동시 호출 수를 value 로 제한한다. 자리가 없으면 maxWaitMs 만큼만 기다리고 실패한다. (기본은 바로 실패)
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Bulkhead {
+    int value() default 10;
+
+    long maxWaitMs() default 0;
+}
@@ -0,0 +1,20 @@
+package hello.aop.exam.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 메서드 결과를 인자별로 캐시한다. null 결과와 예외는 캐시하지 않는다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Cached {
+    int maxSize() default 1000;
+
+    /**
+     * 저장 후 만료 시간(ms), 0 이면 만료하지 않는다.
+     */
+    long ttlMs() default 0;
+}
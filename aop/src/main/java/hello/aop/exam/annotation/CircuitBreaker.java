@@ -0,0 +1,43 @@
+package hello.aop.exam.annotation;
+
+import hello.aop.exam.aop.BulkheadFullException;
+import hello.aop.exam.aop.CircuitBreakerOpenException;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 최근 windowMs 동안 실패율이 failureRateThreshold(%) 이상이면 openMs 동안 호출을 막는다.
+ * 그 뒤 halfOpenCalls 번의 시험 호출이 모두 성공하면 다시 닫힌다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CircuitBreaker {
+    double failureRateThreshold() default 50;
+
+    /**
+     * 윈도우 안의 호출이 이보다 적으면 실패율을 따지지 않는다.
+     */
+    int minimumCalls() default 10;
+
+    long windowMs() default 10000;
+
+    int windowBuckets() default 10;
+
+    long openMs() default 5000;
+
+    int halfOpenCalls() default 3;
+
+    /**
+     * 실패로 셀 예외, 나머지 예외는 성공으로 센다.
+     */
+    Class<? extends Throwable>[] recordFor() default Exception.class;
+
+    /**
+     * 실패로도 성공으로도 세지 않을 예외, recordFor 보다 우선한다.
+     * 기본값은 안쪽 서킷이나 벌크헤드가 호출을 거절한 경우다. (대상 메서드는 실행되지 않았다)
+     */
+    Class<? extends Throwable>[] ignoreFor() default {CircuitBreakerOpenException.class, BulkheadFullException.class};
+}
@@ -1,5 +1,8 @@
 package hello.aop.exam.annotation;
 
+import hello.aop.exam.aop.BulkheadFullException;
+import hello.aop.exam.aop.CircuitBreakerOpenException;
+
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -8,5 +11,36 @@ import java.lang.annotation.Target;
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Retry {
+    /**
+     * 최대 시도 횟수 (첫 호출 포함)
+     */
     int value() default 3;
+
+    /**
+     * n 번째 재시도 전에 0 ~ min(maxBackoff, backoff * multiplier^(n-1)) ms 중 임의로 기다린다. (full jitter)
+     */
+    long backoff() default 100;
+
+    long maxBackoff() default 2000;
+
+    double multiplier() default 2.0;
+
+    /**
+     * 재시도할 예외, noRetryFor 가 우선한다.
+     */
+    Class<? extends Throwable>[] retryFor() default Exception.class;
+
+    /**
+     * 기본값은 서킷이 열렸거나 벌크헤드가 가득 찬 경우다. 기다렸다 다시 불러도 거절될 뿐이다.
+     * 값을 지정하면 기본값을 대신하므로 필요하면 함께 적는다.
+     */
+    Class<? extends Throwable>[] noRetryFor() default {CircuitBreakerOpenException.class, BulkheadFullException.class};
+
+    /**
+     * 재시도 예산: 호출 한 번마다 budgetRatio 개의 토큰이 쌓이고(최대 budgetBurst 개) 재시도 한 번에 1개를 쓴다.
+     * 장애가 길어지면 재시도가 전체 호출의 budgetRatio 비율을 넘지 못한다.
+     */
+    double budgetRatio() default 0.2;
+
+    int budgetBurst() default 10;
 }
@@ -8,4 +8,10 @@ import java.lang.annotation.Target;
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Trace {
+    ArgCapture args() default ArgCapture.TRUNCATED;
+
+    /**
+     * TRUNCATED 에서 인자 전체를 합친 최대 길이
+     */
+    int maxLength() default 128;
 }
@@ -0,0 +1,56 @@
+package hello.aop.exam.aop;
+
+import hello.aop.exam.annotation.Bulkhead;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.Order;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메서드마다 세마포어 하나로 동시 호출 수를 제한한다. 가상 쓰레드에서도 대기 중에 캐리어 쓰레드를 잡지 않는다.
+ */
+@Aspect
+@Slf4j
+@Order(3)
+public class BulkheadAspect {
+    private final Map<Method, Semaphore> semaphores = new ConcurrentHashMap<>();
+
+    @Around("execution(* *(..)) && @annotation(bulkhead)")
+    public Object doBulkhead(ProceedingJoinPoint joinPoint, Bulkhead bulkhead) throws Throwable {
+        Semaphore semaphore = semaphore(joinPoint, bulkhead);
+        if (!acquire(semaphore, bulkhead)) {
+            log.info("[bulkhead] {} full, maxConcurrent={}", joinPoint.getSignature(), bulkhead.value());
+            throw new BulkheadFullException(joinPoint.getSignature().toShortString() + " bulkhead is full");
+        }
+
+        try {
+            return joinPoint.proceed();
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    private Semaphore semaphore(ProceedingJoinPoint joinPoint, Bulkhead bulkhead) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Semaphore semaphore = semaphores.get(method);
+        if (semaphore == null) {
+            semaphore = semaphores.computeIfAbsent(method, m -> new Semaphore(bulkhead.value()));
+        }
+        return semaphore;
+    }
+
+    private static boolean acquire(Semaphore semaphore, Bulkhead bulkhead) throws InterruptedException {
+        if (bulkhead.maxWaitMs() <= 0) {
+            return semaphore.tryAcquire();
+        }
+        return semaphore.tryAcquire(bulkhead.maxWaitMs(), TimeUnit.MILLISECONDS);
+    }
+}
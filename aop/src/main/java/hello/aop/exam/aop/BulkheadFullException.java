@@ -0,0 +1,7 @@
+package hello.aop.exam.aop;
+
+public class BulkheadFullException extends RuntimeException {
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,94 @@
+package hello.aop.exam.aop;
+
+import hello.aop.exam.annotation.Cached;
+import hello.aop.exam.cache.CacheKey;
+import hello.aop.exam.cache.CacheStats;
+import hello.aop.exam.cache.TinyLfuCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 메서드마다 TinyLfuCache 하나를 두고 결과를 캐시한다. 캐시 적중이면 재시도, 서킷 브레이커까지 가지 않도록 가장 바깥(0)에 둔다.
+ * 메트릭: cache.gets (result=hit|miss), cache.evictions, cache.size
+ */
+@Aspect
+@Slf4j
+@Order(0)
+public class CachedAspect {
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, TinyLfuCache<Object, Object>> caches = new ConcurrentHashMap<>();
+
+    /**
+     * 로드 타임 위빙(META-INF/aop.xml)에서는 AspectJ 가 이 생성자로 애스펙트를 만든다.
+     */
+    public CachedAspect() {
+        this(Metrics.globalRegistry);
+    }
+
+    @Autowired
+    public CachedAspect(ObjectProvider<MeterRegistry> meterRegistry) {
+        this(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    public CachedAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(* *(..)) && @annotation(cached)")
+    public Object doCached(ProceedingJoinPoint joinPoint, Cached cached) throws Throwable {
+        TinyLfuCache<Object, Object> cache = cache(joinPoint, cached);
+        Object key = CacheKey.of(joinPoint.getArgs());
+
+        Object value = cache.getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+        value = joinPoint.proceed();
+        if (value != null) {
+            cache.put(key, value);
+        }
+        return value;
+    }
+
+    public CacheStats getStats(Method method) {
+        TinyLfuCache<Object, Object> cache = caches.get(method);
+        return cache == null ? new CacheStats(0, 0, 0) : cache.stats();
+    }
+
+    private TinyLfuCache<Object, Object> cache(ProceedingJoinPoint joinPoint, Cached cached) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        TinyLfuCache<Object, Object> cache = caches.get(method);
+        if (cache == null) {
+            cache = caches.computeIfAbsent(method, m -> newCache(joinPoint.getSignature().toShortString(), cached));
+        }
+        return cache;
+    }
+
+    private TinyLfuCache<Object, Object> newCache(String name, Cached cached) {
+        log.info("[cached] {} maxSize={} ttlMs={}", name, cached.maxSize(), cached.ttlMs());
+        TinyLfuCache<Object, Object> cache = new TinyLfuCache<>(cached.maxSize(), cached.ttlMs());
+        FunctionCounter.builder("cache.gets", cache, c -> c.stats().getHitCount())
+                .tag("method", name).tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("cache.gets", cache, c -> c.stats().getMissCount())
+                .tag("method", name).tag("result", "miss").register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", cache, c -> c.stats().getEvictionCount())
+                .tag("method", name).register(meterRegistry);
+        Gauge.builder("cache.size", cache, TinyLfuCache::size)
+                .tag("method", name).register(meterRegistry);
+        return cache;
+    }
+}
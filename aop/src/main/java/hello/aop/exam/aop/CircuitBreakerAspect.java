@@ -0,0 +1,76 @@
+package hello.aop.exam.aop;
+
+import hello.aop.exam.annotation.CircuitBreaker;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.Order;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 기본 순서: RetryAspect(1) -> CircuitBreakerAspect(2) -> BulkheadAspect(3)
+ * 재시도 한 번 한 번이 서킷에 기록되고, 서킷이 열리면 벌크헤드 자리를 차지하지 않는다.
+ */
+@Aspect
+@Slf4j
+@Order(2)
+public class CircuitBreakerAspect {
+    private final Map<Method, CircuitState> circuits = new ConcurrentHashMap<>();
+
+    @Around("execution(* *(..)) && @annotation(circuitBreaker)")
+    public Object doCircuitBreaker(ProceedingJoinPoint joinPoint, CircuitBreaker circuitBreaker) throws Throwable {
+        CircuitState circuit = circuit(joinPoint, circuitBreaker);
+        CircuitState.Phase permit = circuit.tryAcquire(now());
+        if (permit == null) {
+            log.info("[circuit-breaker] {} not permitted, status={}", joinPoint.getSignature(), circuit.getStatus());
+            throw new CircuitBreakerOpenException(joinPoint.getSignature().toShortString() + " circuit is open");
+        }
+
+        try {
+            Object result = joinPoint.proceed();
+            circuit.onSuccess(permit, now());
+            return result;
+        } catch (Throwable e) {
+            if (matches(e, circuitBreaker.ignoreFor())) {
+                circuit.onIgnored(permit);
+            } else if (matches(e, circuitBreaker.recordFor())) {
+                circuit.onFailure(permit, now());
+            } else {
+                circuit.onSuccess(permit, now());
+            }
+            throw e;
+        }
+    }
+
+    public CircuitState.Status getStatus(Method method) {
+        CircuitState circuit = circuits.get(method);
+        return circuit == null ? CircuitState.Status.CLOSED : circuit.getStatus();
+    }
+
+    private CircuitState circuit(ProceedingJoinPoint joinPoint, CircuitBreaker circuitBreaker) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        CircuitState circuit = circuits.get(method);
+        if (circuit == null) {
+            circuit = circuits.computeIfAbsent(method, m -> new CircuitState(joinPoint.getSignature().toShortString(), circuitBreaker));
+        }
+        return circuit;
+    }
+
+    private static boolean matches(Throwable e, Class<? extends Throwable>[] types) {
+        for (Class<? extends Throwable> type : types) {
+            if (type.isInstance(e)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long now() {
+        return System.nanoTime() / 1_000_000;
+    }
+}
@@ -0,0 +1,7 @@
+package hello.aop.exam.aop;
+
+public class CircuitBreakerOpenException extends RuntimeException {
+    public CircuitBreakerOpenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,109 @@
+package hello.aop.exam.aop;
+
+import hello.aop.exam.annotation.CircuitBreaker;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 서킷 상태. 상태가 바뀔 때마다 새 Phase 를 CAS 로 바꿔 끼우므로 윈도우와 half-open 카운터가 함께 초기화된다.
+ * tryAcquire() 는 허용한 Phase 를 돌려주고, 결과는 그 Phase 가 아직 현재 상태일 때만 기록한다.
+ * (CLOSED 에서 들어간 호출이 HALF_OPEN 이 된 뒤 끝나도 시험 호출로 세지 않는다)
+ */
+@Slf4j
+public class CircuitState {
+    public enum Status {CLOSED, OPEN, HALF_OPEN}
+
+    private final String name;
+    private final CircuitBreaker config;
+    private final AtomicReference<Phase> phase;
+
+    public CircuitState(String name, CircuitBreaker config) {
+        this.name = name;
+        this.config = config;
+        this.phase = new AtomicReference<>(closed());
+    }
+
+    /**
+     * @return 허용되면 결과를 기록할 때 넘길 Phase, 막히면 null
+     */
+    public Phase tryAcquire(long nowMs) {
+        while (true) {
+            Phase current = phase.get();
+            if (current.status == Status.CLOSED) {
+                return current;
+            }
+            if (current.status == Status.HALF_OPEN) {
+                return current.permits.incrementAndGet() <= config.halfOpenCalls() ? current : null;
+            }
+            if (nowMs - current.openedAt < config.openMs()) {
+                return null;
+            }
+            transition(current, new Phase(Status.HALF_OPEN, 0, null));
+        }
+    }
+
+    public void onSuccess(Phase permit, long nowMs) {
+        if (phase.get() != permit) {
+            return;
+        }
+        if (permit.status == Status.CLOSED) {
+            permit.window.record(false, nowMs);
+        } else if (permit.status == Status.HALF_OPEN
+                && permit.successes.incrementAndGet() >= config.halfOpenCalls()) {
+            transition(permit, closed());
+        }
+    }
+
+    public void onFailure(Phase permit, long nowMs) {
+        if (phase.get() != permit) {
+            return;
+        }
+        if (permit.status == Status.CLOSED) {
+            permit.window.record(true, nowMs);
+            if (permit.window.exceeds(config.failureRateThreshold(), config.minimumCalls(), nowMs)) {
+                transition(permit, new Phase(Status.OPEN, nowMs, null));
+            }
+        } else if (permit.status == Status.HALF_OPEN) {
+            transition(permit, new Phase(Status.OPEN, nowMs, null));
+        }
+    }
+
+    /**
+     * 성공도 실패도 아닌 결과. half-open 이면 시험 호출 자리를 돌려준다.
+     */
+    public void onIgnored(Phase permit) {
+        if (phase.get() == permit && permit.status == Status.HALF_OPEN) {
+            permit.permits.decrementAndGet();
+        }
+    }
+
+    public Status getStatus() {
+        return phase.get().status;
+    }
+
+    private void transition(Phase current, Phase next) {
+        if (phase.compareAndSet(current, next)) {
+            log.info("[circuit-breaker] {} {} -> {}", name, current.status, next.status);
+        }
+    }
+
+    private Phase closed() {
+        return new Phase(Status.CLOSED, 0, new FailureRateWindow(config.windowMs(), config.windowBuckets()));
+    }
+
+    public static final class Phase {
+        private final Status status;
+        private final long openedAt;
+        private final FailureRateWindow window;
+        private final AtomicInteger permits = new AtomicInteger();
+        private final AtomicInteger successes = new AtomicInteger();
+
+        Phase(Status status, long openedAt, FailureRateWindow window) {
+            this.status = status;
+            this.openedAt = openedAt;
+            this.window = window;
+        }
+    }
+}
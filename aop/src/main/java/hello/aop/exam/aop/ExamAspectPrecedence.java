@@ -0,0 +1,13 @@
+package hello.aop.exam.aop;
+
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.DeclarePrecedence;
+
+/**
+ * 로드 타임 위빙에서는 @Order 를 보지 않으므로 같은 순서를 AspectJ 로 선언한다. 스프링 AOP 에서는 쓰지 않는다.
+ */
+@Aspect
+@DeclarePrecedence("hello.aop.exam.aop.CachedAspect, hello.aop.exam.aop.RetryAspect, hello.aop.exam.aop.CircuitBreakerAspect, "
+        + "hello.aop.exam.aop.BulkheadAspect, hello.aop.exam.aop.TraceAspect")
+public class ExamAspectPrecedence {
+}
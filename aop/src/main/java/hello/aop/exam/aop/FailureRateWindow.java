@@ -0,0 +1,63 @@
+package hello.aop.exam.aop;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 시간 기반 슬라이딩 윈도우. windowMs 를 bucketCount 개의 버킷으로 나누고 버킷 하나를 long 하나에 담는다.
+ * [버킷 번호 32bit | 실패 수 16bit | 전체 수 16bit] 를 CAS 로 갱신하고, 버킷 번호가 바뀌면 그 자리에서 새로 시작한다.
+ */
+public class FailureRateWindow {
+    private static final long COUNT_MASK = 0xFFFF;
+    private static final long EPOCH_MASK = 0xFFFFFFFFL;
+
+    private final AtomicLongArray buckets;
+    private final long bucketMs;
+
+    public FailureRateWindow(long windowMs, int bucketCount) {
+        this.buckets = new AtomicLongArray(bucketCount);
+        this.bucketMs = Math.max(1, windowMs / bucketCount);
+    }
+
+    public void record(boolean failure, long nowMs) {
+        long epoch = (nowMs / bucketMs) & EPOCH_MASK;
+        int index = (int) (epoch % buckets.length());
+        while (true) {
+            long current = buckets.get(index);
+            long next;
+            if (current >>> 32 != epoch) {
+                next = pack(epoch, failure ? 1 : 0, 1);
+            } else {
+                long failures = (current >>> 16) & COUNT_MASK;
+                long total = current & COUNT_MASK;
+                if (total == COUNT_MASK) {
+                    return; // 버킷이 가득 차면 더 세지 않는다.
+                }
+                next = pack(epoch, failure ? failures + 1 : failures, total + 1);
+            }
+            if (buckets.compareAndSet(index, current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 윈도우 안의 호출이 minimumCalls 이상이고 실패율(%)이 threshold 이상인지
+     */
+    public boolean exceeds(double threshold, int minimumCalls, long nowMs) {
+        long failures = 0;
+        long total = 0;
+        long epoch = (nowMs / bucketMs) & EPOCH_MASK;
+        for (int i = 0; i < buckets.length(); i++) {
+            long bucket = buckets.get(i);
+            if (((epoch - (bucket >>> 32)) & EPOCH_MASK) < buckets.length()) {
+                failures += (bucket >>> 16) & COUNT_MASK;
+                total += bucket & COUNT_MASK;
+            }
+        }
+        return total >= minimumCalls && total > 0 && failures * 100.0 / total >= threshold;
+    }
+
+    private static long pack(long epoch, long failures, long total) {
+        return epoch << 32 | failures << 16 | total;
+    }
+}
@@ -1,29 +1,146 @@
 package hello.aop.exam.aop;
 
 import hello.aop.exam.annotation.Retry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
 
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 지수 backoff(full jitter) 로 기다리며 재시도하고, 대상 메서드마다 재시도 예산(RetryBudget)을 둔다.
+ * 대기는 Thread.sleep 이고 락을 잡지 않으므로 가상 쓰레드에서는 캐리어 쓰레드를 놓아준다.
+ * 메트릭: retry.attempts (재시도 횟수), retry.giveups (reason=exhausted|budget|interrupted)
+ * CircuitBreakerAspect(2), BulkheadAspect(3) 보다 바깥에서 감싼다.
+ */
 @Aspect
 @Slf4j
+@Order(1)
 public class RetryAspect {
-    @Around("@annotation(retry)")
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, RetryState> states = new ConcurrentHashMap<>();
+
+    /**
+     * 로드 타임 위빙(META-INF/aop.xml)에서는 AspectJ 가 이 생성자로 애스펙트를 만든다.
+     */
+    public RetryAspect() {
+        this(Metrics.globalRegistry);
+    }
+
+    @Autowired
+    public RetryAspect(ObjectProvider<MeterRegistry> meterRegistry) {
+        this(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    public RetryAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(* *(..)) && @annotation(retry)")
     public Object doRetry(ProceedingJoinPoint joinPoint, Retry retry) throws Throwable {
         log.info("[retry] {} retry={}", joinPoint.getSignature(), retry);
 
+        RetryState state = state(joinPoint, retry);
+        state.budget.deposit();
         int maxRetry = retry.value();
-        Exception exceptionHolder = null;
 
-        for (int retryCount = 1; retryCount <= maxRetry; retryCount++) {
+        for (int retryCount = 1; ; retryCount++) {
             try {
                 log.info("[retry] try count={}/{}", retryCount, maxRetry);
                 return joinPoint.proceed();
-            } catch (Exception e) {
-                exceptionHolder = e;
+            } catch (Throwable e) {
+                if (!isRetryable(e, retry)) {
+                    throw e;
+                }
+                if (retryCount >= maxRetry) {
+                    state.exhausted.increment();
+                    throw e;
+                }
+                if (!state.budget.tryWithdraw()) {
+                    log.info("[retry] budget exhausted {}", joinPoint.getSignature());
+                    state.budgetExhausted.increment();
+                    throw e;
+                }
+                state.attempts.increment();
+                if (!sleep(backoffMillis(retry, retryCount))) {
+                    state.interrupted.increment();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private RetryState state(ProceedingJoinPoint joinPoint, Retry retry) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        RetryState state = states.get(method);
+        if (state == null) {
+            state = states.computeIfAbsent(method, m -> new RetryState(joinPoint.getSignature().toShortString(), retry, meterRegistry));
+        }
+        return state;
+    }
+
+    static boolean isRetryable(Throwable e, Retry retry) {
+        for (Class<? extends Throwable> type : retry.noRetryFor()) {
+            if (type.isInstance(e)) {
+                return false;
             }
         }
-        throw exceptionHolder;
+        for (Class<? extends Throwable> type : retry.retryFor()) {
+            if (type.isInstance(e)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static long backoffMillis(Retry retry, int retryCount) {
+        double exponential = retry.backoff() * Math.pow(retry.multiplier(), retryCount - 1);
+        long cap = (long) Math.min(retry.maxBackoff(), exponential);
+        return cap <= 0 ? 0 : ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    // 인터럽트되면 false, 인터럽트 상태는 남겨 둔다.
+    private static boolean sleep(long millis) {
+        if (millis == 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static class RetryState {
+        private final RetryBudget budget;
+        private final Counter attempts;
+        private final Counter exhausted;
+        private final Counter budgetExhausted;
+        private final Counter interrupted;
+
+        RetryState(String method, Retry retry, MeterRegistry meterRegistry) {
+            this.budget = new RetryBudget(retry.budgetRatio(), retry.budgetBurst());
+            this.attempts = Counter.builder("retry.attempts").tag("method", method).register(meterRegistry);
+            this.exhausted = giveUp(method, "exhausted", meterRegistry);
+            this.budgetExhausted = giveUp(method, "budget", meterRegistry);
+            this.interrupted = giveUp(method, "interrupted", meterRegistry);
+        }
+
+        private static Counter giveUp(String method, String reason, MeterRegistry meterRegistry) {
+            return Counter.builder("retry.giveups").tag("method", method).tag("reason", reason).register(meterRegistry);
+        }
     }
 }
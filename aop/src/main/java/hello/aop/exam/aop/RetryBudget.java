@@ -0,0 +1,46 @@
+package hello.aop.exam.aop;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 토큰 버킷 재시도 예산. 토큰은 1/1000 단위 정수로 들고 CAS 로 갱신한다.
+ */
+public class RetryBudget {
+    private static final long UNIT = 1000;
+
+    private final long depositPerCall;
+    private final long capacity;
+    private final AtomicLong tokens;
+
+    public RetryBudget(double ratio, int burst) {
+        this.depositPerCall = Math.round(ratio * UNIT);
+        this.capacity = burst * UNIT;
+        this.tokens = new AtomicLong(capacity); // 처음에는 burst 만큼 재시도할 수 있다.
+    }
+
+    /**
+     * 호출마다 한 번
+     */
+    public void deposit() {
+        tokens.accumulateAndGet(depositPerCall, (current, add) -> Math.min(capacity, current + add));
+    }
+
+    /**
+     * 재시도 전에 한 번, false 면 예산이 없으므로 재시도하지 않는다.
+     */
+    public boolean tryWithdraw() {
+        while (true) {
+            long current = tokens.get();
+            if (current < UNIT) {
+                return false;
+            }
+            if (tokens.compareAndSet(current, current - UNIT)) {
+                return true;
+            }
+        }
+    }
+
+    public double getTokens() {
+        return (double) tokens.get() / UNIT;
+    }
+}
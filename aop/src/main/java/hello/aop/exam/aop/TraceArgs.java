@@ -0,0 +1,128 @@
+package hello.aop.exam.aop;
+
+import hello.aop.exam.annotation.ArgCapture;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 인자를 로그용 문자열로 만든다. 쓰레드마다 StringBuilder 하나를 재사용하고, 너무 커진 버퍼는 버린다.
+ * 컬렉션, 맵, 배열은 원소 단위로 끊는다. 그 밖의 객체는 toString() 을 끝까지 부른 뒤 자르므로
+ * toString() 이 큰 객체는 TYPES 나 HASHED 를 쓴다.
+ */
+public final class TraceArgs {
+    private static final int MAX_BUFFER = 4096;
+    private static final String ELLIPSIS = "...";
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    private TraceArgs() {
+    }
+
+    public static String types(Class<?>[] parameterTypes) {
+        StringBuilder sb = buffer();
+        sb.append('[');
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(parameterTypes[i].getSimpleName());
+        }
+        return release(sb.append(']'));
+    }
+
+    public static String format(Object[] args, ArgCapture capture, int maxLength) {
+        StringBuilder sb = buffer();
+        sb.append('[');
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            if (capture == ArgCapture.HASHED) {
+                sb.append('#').append(Integer.toHexString(Objects.hashCode(args[i])));
+            } else if (sb.length() >= maxLength) {
+                sb.append(ELLIPSIS);
+                break;
+            } else {
+                appendValue(sb, args[i], maxLength);
+            }
+        }
+        return release(sb.append(']'));
+    }
+
+    private static void appendValue(StringBuilder sb, Object value, int limit) {
+        if (value instanceof CharSequence chars) {
+            appendChars(sb, chars, limit);
+        } else if (value instanceof Collection<?> collection) {
+            sb.append('[');
+            int index = 0;
+            for (Object element : collection) {
+                if (!appendSeparator(sb, index++, collection.size(), limit)) {
+                    break;
+                }
+                appendValue(sb, element, limit);
+            }
+            sb.append(']');
+        } else if (value instanceof Map<?, ?> map) {
+            sb.append('{');
+            int index = 0;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!appendSeparator(sb, index++, map.size(), limit)) {
+                    break;
+                }
+                appendValue(sb, entry.getKey(), limit);
+                sb.append('=');
+                appendValue(sb, entry.getValue(), limit);
+            }
+            sb.append('}');
+        } else if (value != null && value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            sb.append('[');
+            for (int i = 0; i < length; i++) {
+                if (!appendSeparator(sb, i, length, limit)) {
+                    break;
+                }
+                appendValue(sb, Array.get(value, i), limit);
+            }
+            sb.append(']');
+        } else {
+            appendChars(sb, String.valueOf(value), limit);
+        }
+    }
+
+    // 이미 limit 에 닿았으면 남은 원소 대신 크기를 남기고 false
+    private static boolean appendSeparator(StringBuilder sb, int index, int size, int limit) {
+        if (sb.length() >= limit) {
+            sb.append(ELLIPSIS).append("(size=").append(size).append(')');
+            return false;
+        }
+        if (index > 0) {
+            sb.append(", ");
+        }
+        return true;
+    }
+
+    private static void appendChars(StringBuilder sb, CharSequence chars, int limit) {
+        int room = Math.max(0, limit - sb.length());
+        if (chars.length() <= room) {
+            sb.append(chars);
+        } else {
+            sb.append(chars, 0, room).append(ELLIPSIS);
+        }
+    }
+
+    private static StringBuilder buffer() {
+        StringBuilder sb = BUFFER.get();
+        sb.setLength(0);
+        return sb;
+    }
+
+    private static String release(StringBuilder sb) {
+        String result = sb.toString();
+        if (sb.capacity() > MAX_BUFFER) {
+            BUFFER.set(new StringBuilder(256));
+        }
+        return result;
+    }
+}
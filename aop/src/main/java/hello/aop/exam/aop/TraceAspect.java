@@ -1,16 +1,33 @@
 package hello.aop.exam.aop;
 
+import hello.aop.exam.annotation.ArgCapture;
+import hello.aop.exam.annotation.Trace;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
+import org.aspectj.lang.reflect.MethodSignature;
 
 @Aspect
 @Slf4j
 public class TraceAspect {
-    @Before("@annotation(hello.aop.exam.annotation.Trace)")
-    public void doTrace(JoinPoint joinPoint) {
-        Object[] args = joinPoint.getArgs();
-        log.info("[trace] {} args={}", joinPoint.getSignature(), args);
+    @Before("execution(* *(..)) && @annotation(trace)")
+    public void doTrace(JoinPoint joinPoint, Trace trace) {
+        // 로그를 남기지 않으면 인자를 건드리지 않는다.
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        log.info("[trace] {} args={}", joinPoint.getSignature(), capture(joinPoint, trace));
+    }
+
+    private static String capture(JoinPoint joinPoint, Trace trace) {
+        ArgCapture capture = trace.args();
+        if (capture == ArgCapture.NONE) {
+            return "-";
+        }
+        if (capture == ArgCapture.TYPES) {
+            return TraceArgs.types(((MethodSignature) joinPoint.getSignature()).getParameterTypes());
+        }
+        return TraceArgs.format(joinPoint.getArgs(), capture, trace.maxLength());
     }
 }
@@ -0,0 +1,44 @@
+package hello.aop.exam.cache;
+
+import java.util.Arrays;
+
+/**
+ * 인자 배열로 만든 캐시 키. 캐시는 메서드마다 따로 두므로 키에 메서드를 넣지 않는다.
+ * 인자가 하나면(배열, null 제외) 그 인자를 그대로 키로 써서 래퍼 객체를 만들지 않는다.
+ */
+public final class CacheKey {
+    private static final CacheKey EMPTY = new CacheKey(new Object[0]);
+
+    private final Object[] args;
+    private final int hashCode;
+
+    private CacheKey(Object[] args) {
+        this.args = args;
+        this.hashCode = Arrays.deepHashCode(args);
+    }
+
+    public static Object of(Object[] args) {
+        if (args.length == 0) {
+            return EMPTY;
+        }
+        if (args.length == 1 && args[0] != null && !args[0].getClass().isArray()) {
+            return args[0];
+        }
+        return new CacheKey(args);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof CacheKey other && Arrays.deepEquals(args, other.args));
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.deepToString(args);
+    }
+}
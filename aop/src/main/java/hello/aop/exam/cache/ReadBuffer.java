@@ -0,0 +1,70 @@
+package hello.aop.exam.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * 조회 기록용 손실 허용 링 버퍼. 쓰레드마다 stripe 를 나눠 경합을 줄이고, 가득 차거나 CAS 에 지면 기록을 버린다.
+ * offer 는 여러 쓰레드가, drain 은 정책 락을 잡은 쓰레드 하나만 호출한다.
+ */
+final class ReadBuffer<E> {
+    private static final int BUFFER_SIZE = 16;
+    private static final int BUFFER_MASK = BUFFER_SIZE - 1;
+
+    private final Stripe<E>[] stripes;
+    private final int stripeMask;
+
+    @SuppressWarnings("unchecked")
+    ReadBuffer() {
+        int count = Math.min(32, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1));
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe<>();
+        }
+        this.stripeMask = count - 1;
+    }
+
+    /**
+     * @return false 면 stripe 가 가득 찼으므로 drain 해야 한다.
+     */
+    boolean offer(E e) {
+        Stripe<E> stripe = stripes[stripeIndex()];
+        long tail = stripe.writes.get();
+        if (tail - stripe.reads.get() >= BUFFER_SIZE) {
+            return false;
+        }
+        if (stripe.writes.compareAndSet(tail, tail + 1)) {
+            stripe.slots.lazySet((int) tail & BUFFER_MASK, e);
+        }
+        return true;
+    }
+
+    void drain(Consumer<E> consumer) {
+        for (Stripe<E> stripe : stripes) {
+            long head = stripe.reads.get();
+            long tail = stripe.writes.get();
+            for (; head < tail; head++) {
+                int index = (int) head & BUFFER_MASK;
+                E e = stripe.slots.get(index);
+                if (e == null) {
+                    break; // 자리는 잡았지만 아직 쓰지 않은 슬롯
+                }
+                stripe.slots.lazySet(index, null);
+                consumer.accept(e);
+            }
+            stripe.reads.lazySet(head);
+        }
+    }
+
+    private int stripeIndex() {
+        int h = System.identityHashCode(Thread.currentThread()) * 0x9E3779B9;
+        return (h >>> 16) & stripeMask;
+    }
+
+    private static final class Stripe<E> {
+        private final AtomicReferenceArray<E> slots = new AtomicReferenceArray<>(BUFFER_SIZE);
+        private final AtomicLong writes = new AtomicLong();
+        private final AtomicLong reads = new AtomicLong();
+    }
+}
@@ -0,0 +1,289 @@
+package hello.aop.exam.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * W-TinyLFU 캐시.
+ * - 조회: ConcurrentHashMap 에서 바로 읽고, 접근 기록은 ReadBuffer 에 남긴다. (락 없음)
+ * - 정책: window LRU(1%) + segmented LRU(probation 20%, protected 80%), 락 안에서만 바꾼다.
+ * - 입장: window 에서 밀려난 후보와 probation 의 LRU 중 FrequencySketch 빈도가 높은 쪽을 남긴다.
+ */
+public class TinyLfuCache<K, V> {
+    private static final int NEW = 0, WINDOW = 1, PROBATION = 2, PROTECTED = 3, DEAD = 4;
+
+    private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final ReadBuffer<Node<K, V>> readBuffer = new ReadBuffer<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final FrequencySketch sketch;
+    private final LongSupplier ticker;
+    private final long ttlNanos;
+
+    private final int maxSize;
+    private final int windowMax;
+    private final int protectedMax;
+    private final AccessDeque<K, V> window = new AccessDeque<>();
+    private final AccessDeque<K, V> probation = new AccessDeque<>();
+    private final AccessDeque<K, V> protectedDeque = new AccessDeque<>();
+    private int windowSize;
+    private int protectedSize;
+    private int size;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TinyLfuCache(int maxSize, long ttlMillis) {
+        this(maxSize, ttlMillis, System::nanoTime);
+    }
+
+    TinyLfuCache(int maxSize, long ttlMillis, LongSupplier ticker) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.windowMax = Math.max(1, maxSize / 100);
+        this.protectedMax = (int) ((maxSize - windowMax) * 0.8);
+        this.sketch = new FrequencySketch(maxSize);
+        this.ttlNanos = ttlMillis * 1_000_000;
+        this.ticker = ticker;
+    }
+
+    public V getIfPresent(K key) {
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            misses.increment();
+            return null;
+        }
+        if (isExpired(node, ticker.getAsLong())) {
+            misses.increment();
+            if (data.remove(key, node)) {
+                removeFromPolicy(node);
+            }
+            return null;
+        }
+        hits.increment();
+        afterRead(node);
+        return node.value;
+    }
+
+    public void put(K key, V value) {
+        Node<K, V> node = new Node<>(key, value, ticker.getAsLong());
+        Node<K, V> prior = data.putIfAbsent(key, node);
+        if (prior != null) {
+            prior.value = value;
+            prior.writeTime = node.writeTime;
+            afterRead(prior);
+            return;
+        }
+        evictionLock.lock();
+        try {
+            readBuffer.drain(this::onAccess);
+            onAdd(node);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public int size() {
+        return data.size();
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    private boolean isExpired(Node<K, V> node, long now) {
+        return ttlNanos > 0 && now - node.writeTime >= ttlNanos;
+    }
+
+    private void afterRead(Node<K, V> node) {
+        if (!readBuffer.offer(node) && evictionLock.tryLock()) {
+            try {
+                readBuffer.drain(this::onAccess);
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    private void removeFromPolicy(Node<K, V> node) {
+        evictionLock.lock();
+        try {
+            unlink(node);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    // 이하 evictionLock 안에서만 호출
+
+    private void onAdd(Node<K, V> node) {
+        if (node.queue == DEAD) {
+            return; // 정책에 들어가기 전에 만료되어 지워졌다.
+        }
+        sketch.increment(node.key);
+        node.queue = WINDOW;
+        window.addLast(node);
+        windowSize++;
+        size++;
+        evict();
+    }
+
+    private void onAccess(Node<K, V> node) {
+        if (node.queue == NEW || node.queue == DEAD) {
+            return;
+        }
+        sketch.increment(node.key);
+        if (node.queue == WINDOW) {
+            window.moveToLast(node);
+        } else if (node.queue == PROBATION) {
+            probation.remove(node);
+            node.queue = PROTECTED;
+            protectedDeque.addLast(node);
+            protectedSize++;
+            while (protectedSize > protectedMax) {
+                Node<K, V> demoted = protectedDeque.pollFirst();
+                protectedSize--;
+                demoted.queue = PROBATION;
+                probation.addLast(demoted);
+            }
+        } else {
+            protectedDeque.moveToLast(node);
+        }
+    }
+
+    private void evict() {
+        while (windowSize > windowMax) {
+            Node<K, V> candidate = window.pollFirst();
+            windowSize--;
+            candidate.queue = PROBATION;
+            probation.addLast(candidate);
+            if (size <= maxSize) {
+                continue;
+            }
+            Node<K, V> victim = probation.peekFirst() != candidate ? probation.peekFirst() : protectedDeque.peekFirst();
+            if (victim != null && admit(candidate.key, victim.key)) {
+                evictNode(victim);
+            } else {
+                evictNode(candidate);
+            }
+        }
+        while (size > maxSize) {
+            Node<K, V> victim = probation.peekFirst();
+            if (victim == null) {
+                victim = protectedDeque.peekFirst() != null ? protectedDeque.peekFirst() : window.peekFirst();
+            }
+            evictNode(victim);
+        }
+    }
+
+    /**
+     * 후보가 더 자주 쓰였으면 입장시킨다. 빈도가 같은 인기 키로 희생자를 밀어내는 공격을 막으려고
+     * 후보 빈도가 높을 때(6 이상)만 낮은 확률로 입장시킨다.
+     */
+    private boolean admit(K candidate, K victim) {
+        int candidateFrequency = sketch.frequency(candidate);
+        int victimFrequency = sketch.frequency(victim);
+        if (candidateFrequency > victimFrequency) {
+            return true;
+        }
+        if (candidateFrequency <= 5) {
+            return false;
+        }
+        return (ThreadLocalRandom.current().nextInt() & 127) == 0;
+    }
+
+    private void evictNode(Node<K, V> node) {
+        unlink(node);
+        data.remove(node.key, node);
+        evictions.increment();
+    }
+
+    private void unlink(Node<K, V> node) {
+        if (node.queue == WINDOW) {
+            window.remove(node);
+            windowSize--;
+            size--;
+        } else if (node.queue == PROBATION) {
+            probation.remove(node);
+            size--;
+        } else if (node.queue == PROTECTED) {
+            protectedDeque.remove(node);
+            protectedSize--;
+            size--;
+        }
+        node.queue = DEAD;
+    }
+
+    private static final class Node<K, V> {
+        private final K key;
+        private volatile V value;
+        private volatile long writeTime;
+        private int queue = NEW;
+        private Node<K, V> prev;
+        private Node<K, V> next;
+
+        Node(K key, V value, long writeTime) {
+            this.key = key;
+            this.value = value;
+            this.writeTime = writeTime;
+        }
+    }
+
+    /**
+     * 노드에 prev/next 를 직접 두는 LRU 순서 리스트. first 가 가장 오래 전에 쓰인 노드다.
+     */
+    private static final class AccessDeque<K, V> {
+        private Node<K, V> first;
+        private Node<K, V> last;
+
+        Node<K, V> peekFirst() {
+            return first;
+        }
+
+        Node<K, V> pollFirst() {
+            Node<K, V> node = first;
+            if (node != null) {
+                remove(node);
+            }
+            return node;
+        }
+
+        void addLast(Node<K, V> node) {
+            node.prev = last;
+            node.next = null;
+            if (last == null) {
+                first = node;
+            } else {
+                last.next = node;
+            }
+            last = node;
+        }
+
+        void moveToLast(Node<K, V> node) {
+            if (node != last) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.prev == null) {
+                first = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                last = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+        }
+    }
+}
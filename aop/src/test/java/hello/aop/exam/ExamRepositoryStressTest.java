@@ -0,0 +1,50 @@
+package hello.aop.exam;
+
+import hello.aop.exam.aop.BulkheadAspect;
+import hello.aop.exam.aop.CircuitBreakerAspect;
+import hello.aop.exam.aop.RetryAspect;
+import hello.aop.stress.StressResult;
+import hello.aop.stress.StressRunner;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * -Pweaving=ltw 에서는 aop.xml 이 hello.aop.exam..* 을 위빙하므로 new ExamRepository() 에도 aspect 가 걸려 숫자가 맞지 않는다.
+ */
+@DisabledIfSystemProperty(named = "aop.weaving", matches = "ltw")
+class ExamRepositoryStressTest {
+
+    @Test
+    void noLostUpdates() throws InterruptedException {
+        ExamRepository repository = new ExamRepository();
+
+        StressResult result = new StressRunner(8, 10_000).run(() -> repository.save("item"));
+
+        assertThat(repository.getRequestCount()).isEqualTo(result.getTotal());
+        assertThat(result.lostUpdates("ok", repository.getSuccessCount())).isZero();
+        assertThat(result.lostUpdates("IllegalStateException", repository.getFailureCount())).isZero();
+        // 순번이 유실되지 않았으므로 정확히 5번에 1번 실패한다.
+        assertThat(repository.getFailureCount()).isEqualTo(result.getTotal() / 5);
+    }
+
+    @Test
+    void withAspects() throws InterruptedException {
+        ExamRepository target = new ExamRepository();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new RetryAspect(new SimpleMeterRegistry()));
+        factory.addAspect(new CircuitBreakerAspect());
+        factory.addAspect(new BulkheadAspect());
+        ExamRepository proxy = factory.getProxy();
+
+        StressResult result = new StressRunner(8, 200).run(() -> proxy.save("item"));
+
+        // 재시도 예산이 바닥나면 IllegalStateException 이 밖으로 나올 수 있지만 그 외의 결과는 없어야 한다.
+        assertThat(result.getOutcomes().keySet()).isSubsetOf("ok", "IllegalStateException");
+        assertThat(result.lostUpdates("ok", target.getSuccessCount())).isZero();
+        assertThat(target.getFailureCount()).isEqualTo(target.getRequestCount() / 5);
+    }
+}
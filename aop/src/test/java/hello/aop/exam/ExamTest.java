@@ -1,21 +1,34 @@
 package hello.aop.exam;
 
+import hello.aop.exam.aop.BulkheadAspect;
+import hello.aop.exam.aop.CachedAspect;
+import hello.aop.exam.aop.CircuitBreakerAspect;
 import hello.aop.exam.aop.RetryAspect;
 import hello.aop.exam.aop.TraceAspect;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 @Slf4j
 @SpringBootTest
 //@Import(TraceAspect.class)
-@Import({TraceAspect.class, RetryAspect.class})
+@Import({TraceAspect.class, RetryAspect.class, CircuitBreakerAspect.class, BulkheadAspect.class, CachedAspect.class})
 public class ExamTest {
     @Autowired
     ExamService examService;
 
+    @Autowired
+    ExamRepository examRepository;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
     @Test
     void test(){
         for (int i = 0; i < 5; i++) {
@@ -23,4 +36,31 @@ public class ExamTest {
             examService.request("data" + i);
         }
     }
+
+    @Test
+    void retryMetrics(){
+        double before = retryAttempts();
+        for (int i = 0; i < 5; i++) {
+            examService.request("data" + i);
+        }
+        // 5번에 1번 실패하므로 한 번 이상 재시도한다.
+        assertThat(retryAttempts() - before).isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.find("retry.giveups").counters()).isNotEmpty();
+    }
+
+    @Test
+    void cachedFind(){
+        long before = examRepository.getFindCount();
+        assertThat(examService.find("cached")).isEqualTo("item-cached");
+        assertThat(examService.find("cached")).isEqualTo("item-cached");
+
+        assertThat(examRepository.getFindCount() - before).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isGreaterThanOrEqualTo(1);
+    }
+
+    private double retryAttempts() {
+        return meterRegistry.find("retry.attempts").counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
 }
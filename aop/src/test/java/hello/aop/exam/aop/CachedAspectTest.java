@@ -0,0 +1,39 @@
+package hello.aop.exam.aop;
+
+import hello.aop.exam.annotation.Cached;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachedAspectTest {
+
+    @Test
+    void cached() throws NoSuchMethodException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CachedAspect aspect = new CachedAspect(registry);
+        ItemService target = new ItemService();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(aspect);
+        ItemService proxy = factory.getProxy();
+
+        assertThat(proxy.find("a")).isEqualTo("item-a");
+        assertThat(proxy.find("a")).isEqualTo("item-a");
+        assertThat(proxy.find("b")).isEqualTo("item-b");
+        assertThat(target.calls).isEqualTo(2);
+
+        assertThat(aspect.getStats(ItemService.class.getMethod("find", String.class)).getHitCount()).isEqualTo(1);
+        assertThat(registry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(2);
+    }
+
+    static class ItemService {
+        int calls;
+
+        @Cached(maxSize = 10)
+        public String find(String itemId) {
+            calls++;
+            return "item-" + itemId;
+        }
+    }
+}
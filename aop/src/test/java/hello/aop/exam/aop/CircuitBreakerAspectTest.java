@@ -0,0 +1,179 @@
+package hello.aop.exam.aop;
+
+import hello.aop.exam.annotation.Bulkhead;
+import hello.aop.exam.annotation.CircuitBreaker;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CircuitBreakerAspectTest {
+
+    @Test
+    void circuitState() throws NoSuchMethodException {
+        CircuitBreaker config = Service.class.getMethod("call").getAnnotation(CircuitBreaker.class);
+        CircuitState circuit = new CircuitState("call", config);
+
+        // 최소 호출 수(4) 전에는 열리지 않는다.
+        circuit.onFailure(circuit.tryAcquire(0), 0);
+        circuit.onFailure(circuit.tryAcquire(1), 1);
+        circuit.onSuccess(circuit.tryAcquire(2), 2);
+        assertThat(circuit.getStatus()).isEqualTo(CircuitState.Status.CLOSED);
+        circuit.onFailure(circuit.tryAcquire(3), 3);
+        assertThat(circuit.getStatus()).isEqualTo(CircuitState.Status.OPEN);
+        assertThat(circuit.tryAcquire(50)).isNull();
+
+        // openMs(100) 가 지나면 halfOpenCalls(2) 번만 시험 호출을 허용한다.
+        CircuitState.Phase probe1 = circuit.tryAcquire(103);
+        CircuitState.Phase probe2 = circuit.tryAcquire(103);
+        assertThat(probe1).isNotNull();
+        assertThat(probe2).isNotNull();
+        assertThat(circuit.tryAcquire(103)).isNull();
+        circuit.onSuccess(probe1, 104);
+        circuit.onSuccess(probe2, 104);
+        assertThat(circuit.getStatus()).isEqualTo(CircuitState.Status.CLOSED);
+    }
+
+    @Test
+    void halfOpenFailure() throws NoSuchMethodException {
+        CircuitBreaker config = Service.class.getMethod("call").getAnnotation(CircuitBreaker.class);
+        CircuitState circuit = new CircuitState("call", config);
+        for (int i = 0; i < 4; i++) {
+            circuit.onFailure(circuit.tryAcquire(i), i);
+        }
+        CircuitState.Phase probe = circuit.tryAcquire(200);
+        assertThat(probe).isNotNull();
+        circuit.onFailure(probe, 201);
+        assertThat(circuit.getStatus()).isEqualTo(CircuitState.Status.OPEN);
+        assertThat(circuit.tryAcquire(250)).isNull();
+    }
+
+    @Test
+    void staleCompletionIgnored() throws NoSuchMethodException {
+        CircuitBreaker config = Service.class.getMethod("call").getAnnotation(CircuitBreaker.class);
+        CircuitState circuit = new CircuitState("call", config);
+        // CLOSED 에서 들어간 느린 호출
+        CircuitState.Phase slow = circuit.tryAcquire(0);
+        for (int i = 0; i < 4; i++) {
+            circuit.onFailure(circuit.tryAcquire(i), i);
+        }
+        CircuitState.Phase probe = circuit.tryAcquire(200);
+        assertThat(circuit.getStatus()).isEqualTo(CircuitState.Status.HALF_OPEN);
+
+        // HALF_OPEN 이 된 뒤 끝나도 시험 호출로 세지 않는다.
+        circuit.onSuccess(slow, 201);
+        circuit.onSuccess(probe, 202);
+        assertThat(circuit.getStatus()).isEqualTo(CircuitState.Status.HALF_OPEN);
+        circuit.onFailure(slow, 203);
+        assertThat(circuit.getStatus()).isEqualTo(CircuitState.Status.HALF_OPEN);
+    }
+
+    @Test
+    void ignoredReleasesProbe() throws NoSuchMethodException {
+        CircuitBreaker config = Service.class.getMethod("call").getAnnotation(CircuitBreaker.class);
+        CircuitState circuit = new CircuitState("call", config);
+        for (int i = 0; i < 4; i++) {
+            circuit.onFailure(circuit.tryAcquire(i), i);
+        }
+        circuit.onIgnored(circuit.tryAcquire(200));
+        circuit.onIgnored(circuit.tryAcquire(200));
+
+        // 무시된 시험 호출은 자리를 돌려준다.
+        CircuitState.Phase probe1 = circuit.tryAcquire(201);
+        CircuitState.Phase probe2 = circuit.tryAcquire(201);
+        assertThat(probe1).isNotNull();
+        assertThat(probe2).isNotNull();
+        circuit.onSuccess(probe1, 202);
+        circuit.onSuccess(probe2, 202);
+        assertThat(circuit.getStatus()).isEqualTo(CircuitState.Status.CLOSED);
+    }
+
+    @Test
+    void windowSlides() {
+        FailureRateWindow window = new FailureRateWindow(1000, 10);
+        for (int i = 0; i < 10; i++) {
+            window.record(true, i);
+        }
+        assertThat(window.exceeds(50, 10, 500)).isTrue();
+        // 윈도우를 벗어난 버킷은 세지 않는다.
+        assertThat(window.exceeds(50, 10, 1500)).isFalse();
+    }
+
+    @Test
+    void openCircuitRejects() throws NoSuchMethodException {
+        CircuitBreakerAspect aspect = new CircuitBreakerAspect();
+        Service proxy = proxy(new Service(), aspect);
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(proxy::call).isInstanceOf(IllegalStateException.class);
+        }
+        assertThat(aspect.getStatus(Service.class.getMethod("call"))).isEqualTo(CircuitState.Status.OPEN);
+        assertThatThrownBy(proxy::call).isInstanceOf(CircuitBreakerOpenException.class);
+    }
+
+    @Test
+    void rejectionNotRecorded() throws NoSuchMethodException {
+        CircuitBreakerAspect aspect = new CircuitBreakerAspect();
+        Service proxy = proxy(new Service(), aspect);
+        // 안쪽 벌크헤드가 거절한 호출은 실패로 세지 않는다.
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(proxy::full).isInstanceOf(BulkheadFullException.class);
+        }
+        assertThat(aspect.getStatus(Service.class.getMethod("full"))).isEqualTo(CircuitState.Status.CLOSED);
+    }
+
+    @Test
+    void bulkheadFailsFast() throws Exception {
+        Service target = new Service();
+        Service proxy = proxy(target, new BulkheadAspect());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> running = executor.submit(proxy::block);
+            assertThat(target.entered.await(1, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(proxy::block).isInstanceOf(BulkheadFullException.class);
+
+            target.release.countDown();
+            running.get(1, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Service proxy(Service target, Object aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    static class Service {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @CircuitBreaker(minimumCalls = 4, openMs = 100, halfOpenCalls = 2)
+        public String call() {
+            throw new IllegalStateException("fail");
+        }
+
+        @CircuitBreaker(minimumCalls = 4, openMs = 100, halfOpenCalls = 2)
+        public String full() {
+            throw new BulkheadFullException("full");
+        }
+
+        @Bulkhead(1)
+        public void block() {
+            entered.countDown();
+            try {
+                release.await(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package hello.aop.exam.aop;
+
+import hello.aop.exam.annotation.Retry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RetryAspectTest {
+    SimpleMeterRegistry registry;
+    FlakyService target;
+    FlakyService proxy;
+
+    @BeforeEach
+    void init() {
+        registry = new SimpleMeterRegistry();
+        target = new FlakyService();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new RetryAspect(registry));
+        proxy = factory.getProxy();
+    }
+
+    @Test
+    void retryUntilSuccess() {
+        target.failures = 2;
+        assertThat(proxy.call()).isEqualTo("ok");
+        assertThat(target.calls).isEqualTo(3);
+        assertThat(registry.get("retry.attempts").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void exhausted() {
+        target.failures = 10;
+        assertThatThrownBy(() -> proxy.call()).isInstanceOf(IllegalStateException.class);
+        assertThat(target.calls).isEqualTo(3);
+        assertThat(registry.get("retry.giveups").tag("reason", "exhausted").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void noRetryFor() {
+        target.failures = 10;
+        assertThatThrownBy(() -> proxy.callNoRetry()).isInstanceOf(IllegalArgumentException.class);
+        assertThat(target.calls).isEqualTo(1);
+    }
+
+    @Test
+    void circuitOpenNotRetried() {
+        target.failures = 10;
+        assertThatThrownBy(() -> proxy.callCircuitOpen()).isInstanceOf(CircuitBreakerOpenException.class);
+        assertThat(target.calls).isEqualTo(1);
+    }
+
+    @Test
+    void budget() {
+        // burst 1, 적립 없음 -> 첫 요청만 한 번 재시도한다.
+        target.failures = 100;
+        assertThatThrownBy(() -> proxy.callWithBudget()).isInstanceOf(IllegalStateException.class);
+        assertThat(target.calls).isEqualTo(2);
+
+        target.calls = 0;
+        assertThatThrownBy(() -> proxy.callWithBudget()).isInstanceOf(IllegalStateException.class);
+        assertThat(target.calls).isEqualTo(1);
+        assertThat(registry.get("retry.giveups").tag("reason", "budget").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void retryBudget() {
+        RetryBudget budget = new RetryBudget(0.5, 1);
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+
+        budget.deposit();
+        assertThat(budget.tryWithdraw()).isFalse();
+        budget.deposit();
+        assertThat(budget.tryWithdraw()).isTrue();
+
+        for (int i = 0; i < 10; i++) {
+            budget.deposit();
+        }
+        assertThat(budget.getTokens()).isEqualTo(1.0);
+    }
+
+    static class FlakyService {
+        int failures;
+        int calls;
+
+        @Retry(value = 3, backoff = 1)
+        public String call() {
+            return fail(new IllegalStateException("fail"));
+        }
+
+        @Retry(value = 3, backoff = 1, noRetryFor = IllegalArgumentException.class)
+        public String callNoRetry() {
+            return fail(new IllegalArgumentException("bad argument"));
+        }
+
+        @Retry(value = 3, backoff = 1)
+        public String callCircuitOpen() {
+            return fail(new CircuitBreakerOpenException("open"));
+        }
+
+        @Retry(value = 3, backoff = 1, budgetRatio = 0, budgetBurst = 1)
+        public String callWithBudget() {
+            return fail(new IllegalStateException("fail"));
+        }
+
+        private String fail(RuntimeException e) {
+            calls++;
+            if (calls <= failures) {
+                throw e;
+            }
+            return "ok";
+        }
+    }
+}
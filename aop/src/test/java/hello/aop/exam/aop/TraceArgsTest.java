@@ -0,0 +1,50 @@
+package hello.aop.exam.aop;
+
+import hello.aop.exam.annotation.ArgCapture;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TraceArgsTest {
+
+    @Test
+    void truncated() {
+        assertThat(TraceArgs.format(new Object[]{"data1"}, ArgCapture.TRUNCATED, 128)).isEqualTo("[data1]");
+        assertThat(TraceArgs.format(new Object[]{"x".repeat(200), 1}, ArgCapture.TRUNCATED, 10))
+                .isEqualTo("[" + "x".repeat(9) + "..., ...]");
+        assertThat(TraceArgs.format(new Object[]{new int[]{1, 2}, null}, ArgCapture.TRUNCATED, 128))
+                .isEqualTo("[[1, 2], null]");
+    }
+
+    @Test
+    void largeCollectionIsCutPerElement() {
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            items.add(i);
+        }
+        assertThat(TraceArgs.format(new Object[]{items}, ArgCapture.TRUNCATED, 30))
+                .isEqualTo("[[0, 1, 2, 3, 4, 5, 6, 7, 8, 9...(size=100000)]]");
+    }
+
+    @Test
+    void largeMapIsCutPerEntry() {
+        Map<String, Integer> items = new LinkedHashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            items.put("k" + i, i);
+        }
+        assertThat(TraceArgs.format(new Object[]{items}, ArgCapture.TRUNCATED, 24))
+                .isEqualTo("[{k0=0, k1=1, k2=2, k3=3...(size=100000)}]");
+    }
+
+    @Test
+    void hashedAndTypes() {
+        assertThat(TraceArgs.format(new Object[]{"data1", null}, ArgCapture.HASHED, 128))
+                .isEqualTo("[#" + Integer.toHexString("data1".hashCode()) + ", #0]");
+        assertThat(TraceArgs.types(new Class<?>[]{String.class, int.class})).isEqualTo("[String, int]");
+    }
+}
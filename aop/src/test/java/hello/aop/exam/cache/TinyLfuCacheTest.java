@@ -0,0 +1,68 @@
+package hello.aop.exam.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TinyLfuCacheTest {
+
+    @Test
+    void boundedBySize() {
+        TinyLfuCache<Integer, String> cache = new TinyLfuCache<>(100, 0);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i, "v" + i);
+        }
+        assertThat(cache.size()).isEqualTo(100);
+        assertThat(cache.stats().getEvictionCount()).isEqualTo(900);
+    }
+
+    @Test
+    void frequentKeysSurviveScan() {
+        TinyLfuCache<Integer, String> cache = new TinyLfuCache<>(200, 0);
+        for (int round = 0; round < 20; round++) {
+            for (int key = 0; key < 100; key++) {
+                if (cache.getIfPresent(key) == null) {
+                    cache.put(key, "hot");
+                }
+            }
+        }
+        // 한 번씩만 쓰이는 키가 쏟아져도 자주 쓰인 키는 남는다.
+        for (int key = 1000; key < 20000; key++) {
+            cache.put(key, "scan");
+        }
+
+        int retained = 0;
+        for (int key = 0; key < 100; key++) {
+            if (cache.getIfPresent(key) != null) {
+                retained++;
+            }
+        }
+        assertThat(retained).isGreaterThanOrEqualTo(90);
+    }
+
+    @Test
+    void expireAfterWrite() {
+        AtomicLong now = new AtomicLong();
+        TinyLfuCache<String, String> cache = new TinyLfuCache<>(10, 100, now::get);
+        cache.put("a", "1");
+
+        now.set(99_000_000);
+        assertThat(cache.getIfPresent("a")).isEqualTo("1");
+        now.set(100_000_000);
+        assertThat(cache.getIfPresent("a")).isNull();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.stats().getHitCount()).isEqualTo(1);
+        assertThat(cache.stats().getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void cacheKey() {
+        assertThat(CacheKey.of(new Object[]{"a"})).isEqualTo("a");
+        assertThat(CacheKey.of(new Object[0])).isSameAs(CacheKey.of(new Object[0]));
+        assertThat(CacheKey.of(new Object[]{"a", 1})).isEqualTo(CacheKey.of(new Object[]{"a", 1}));
+        assertThat(CacheKey.of(new Object[]{new int[]{1, 2}})).isEqualTo(CacheKey.of(new Object[]{new int[]{1, 2}}));
+        assertThat(CacheKey.of(new Object[]{null})).isEqualTo(CacheKey.of(new Object[]{null}));
+    }
+}
@@ -0,0 +1,35 @@
+package hello.aop.internalcall;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ./gradlew test -Pweaving=ltw 에서만 실행된다.
+ * 프록시 없이 CallServiceV0 의 내부 호출(this.internal())에도 CallLogAspect 가 적용된다.
+ */
+@Slf4j
+@SpringBootTest(properties = "spring.main.allow-circular-references=true")
+@ExtendWith(OutputCaptureExtension.class)
+@EnabledIfSystemProperty(named = "aop.weaving", matches = "ltw")
+public class CallServiceWeavingTest {
+    @Autowired CallServiceV0 callServiceV0;
+
+    @Test
+    void internalCallIsAdvised(CapturedOutput output) {
+        assertThat(AopUtils.isAopProxy(callServiceV0)).isFalse();
+
+        callServiceV0.external();
+
+        assertThat(output).contains("aop=void hello.aop.internalcall.CallServiceV0.external()");
+        assertThat(output).contains("aop=void hello.aop.internalcall.CallServiceV0.internal()");
+    }
+}
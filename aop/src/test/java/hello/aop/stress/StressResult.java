@@ -0,0 +1,42 @@
+package hello.aop.stress;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class StressResult {
+    private final Map<String, Long> outcomes = new TreeMap<>();
+    private final long elapsedNanos;
+    private final long total;
+
+    StressResult(Map<String, LongAdder> outcomes, long elapsedNanos) {
+        outcomes.forEach((outcome, count) -> this.outcomes.put(outcome, count.sum()));
+        this.elapsedNanos = elapsedNanos;
+        this.total = this.outcomes.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public Map<String, Long> getOutcomes() {
+        return outcomes;
+    }
+
+    public long count(String outcome) {
+        return outcomes.getOrDefault(outcome, 0L);
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * 하네스가 본 outcome 횟수와 대상이 스스로 센 횟수(observed)의 차이. 0 보다 크면 대상의 갱신이 유실되었다.
+     */
+    public long lostUpdates(String outcome, long observed) {
+        return count(outcome) - observed;
+    }
+
+    @Override
+    public String toString() {
+        return "outcomes=" + outcomes + " total=" + total + " elapsed=" + TimeUnit.NANOSECONDS.toMillis(elapsedNanos) + "ms";
+    }
+}
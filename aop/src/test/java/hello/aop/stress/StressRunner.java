@@ -0,0 +1,68 @@
+package hello.aop.stress;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * threads 개의 쓰레드가 동시에 출발해서 action 을 iterations 번씩 호출한다.
+ * action 의 반환값(또는 던진 예외의 클래스 이름)을 결과로 보고 결과별 횟수를 센다.
+ */
+@Slf4j
+public class StressRunner {
+    private final int threads;
+    private final int iterations;
+
+    public StressRunner(int threads, int iterations) {
+        this.threads = threads;
+        this.iterations = iterations;
+    }
+
+    public StressResult run(Callable<?> action) throws InterruptedException {
+        Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < iterations; i++) {
+                        outcomes.computeIfAbsent(call(action), k -> new LongAdder()).increment();
+                    }
+                    return null;
+                }));
+            }
+            long startNanos = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+            StressResult result = new StressResult(outcomes, System.nanoTime() - startNanos);
+            log.info("[stress] threads={} iterations={} {}", threads, iterations, result);
+            return result;
+        } catch (Exception e) {
+            throw new IllegalStateException("stress run failed", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static String call(Callable<?> action) {
+        try {
+            return String.valueOf(action.call());
+        } catch (Exception e) {
+            return e.getClass().getSimpleName();
+        }
+    }
+}
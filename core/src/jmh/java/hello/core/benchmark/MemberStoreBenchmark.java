@@ -0,0 +1,69 @@
+package hello.core.benchmark;
+
+import hello.core.common.ConcurrentLongMap;
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 회원 저장소 조회 위주 혼합 부하. ConcurrentLongMap(long 키) 과 ConcurrentHashMap<Long, Member> 비교
+ * readPercent 만큼 조회, 나머지는 같은 id 로 덮어쓰기. gc 프로파일러의 alloc rate 로 박싱 비용을 본다.
+ */
+@State(Scope.Benchmark)
+@Threads(4)
+public class MemberStoreBenchmark {
+    private static final int MEMBERS = 100_000;
+
+    @Param({"90", "99"})
+    int readPercent;
+
+    private Member[] members;
+    private ConcurrentLongMap<Member> longMap;
+    private ConcurrentHashMap<Long, Member> hashMap;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        members = new Member[MEMBERS];
+        longMap = new ConcurrentLongMap<>();
+        hashMap = new ConcurrentHashMap<>();
+        for (int i = 0; i < MEMBERS; i++) {
+            long id = i + 1;
+            members[i] = new Member(id, "member" + id, i % 10 == 0 ? Grade.VIP : Grade.BASIC);
+            longMap.put(id, members[i]);
+            hashMap.put(id, members[i]);
+        }
+    }
+
+    @Benchmark
+    public Member concurrentLongMap() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int index = random.nextInt(MEMBERS);
+        long id = index + 1;
+        if (random.nextInt(100) < readPercent) {
+            return longMap.get(id);
+        }
+        longMap.put(id, members[index]);
+        return members[index];
+    }
+
+    @Benchmark
+    public Member concurrentHashMap() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int index = random.nextInt(MEMBERS);
+        long id = index + 1;
+        if (random.nextInt(100) < readPercent) {
+            return hashMap.get(id);
+        }
+        hashMap.put(id, members[index]);
+        return members[index];
+    }
+}
@@ -0,0 +1,124 @@
+package hello.core.benchmark;
+
+import hello.core.discount.DiscountPolicy;
+import hello.core.discount.DiscountRule;
+import hello.core.discount.RateDiscountPolicy;
+import hello.core.discount.RuleDiscountPolicy;
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemberRepository;
+import hello.core.member.MemoryMemberRepository;
+import hello.core.order.Order;
+import hello.core.order.OrderServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * createOrder 처리량. 고정 정책(RateDiscountPolicy), 규칙을 주문마다 하나씩 평가하는 정책,
+ * 컴파일한 표로 찾는 RuleDiscountPolicy 를 규칙 수별로 비교한다.
+ */
+@State(Scope.Benchmark)
+@Threads(4)
+public class OrderBenchmark {
+    private static final int MEMBERS = 10_000;
+
+    @Param({"10", "100", "1000"})
+    int ruleCount;
+
+    private OrderServiceImpl rateOrderService;
+    private OrderServiceImpl listOrderService;
+    private OrderServiceImpl compiledOrderService;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        MemberRepository memberRepository = new MemoryMemberRepository();
+        for (long id = 1; id <= MEMBERS; id++) {
+            memberRepository.save(new Member(id, "member" + id, id % 10 == 0 ? Grade.VIP : Grade.BASIC));
+        }
+        List<DiscountRule> rules = rules(ruleCount);
+        rateOrderService = new OrderServiceImpl(memberRepository, new RateDiscountPolicy());
+        listOrderService = new OrderServiceImpl(memberRepository, new ListDiscountPolicy(rules, Clock.systemUTC()));
+        compiledOrderService = new OrderServiceImpl(memberRepository, new RuleDiscountPolicy(rules, Clock.systemUTC()));
+    }
+
+    @Benchmark
+    public Order rateDiscountPolicy() {
+        return createOrder(rateOrderService);
+    }
+
+    @Benchmark
+    public Order listDiscountPolicy() {
+        return createOrder(listOrderService);
+    }
+
+    @Benchmark
+    public Order ruleDiscountPolicy() {
+        return createOrder(compiledOrderService);
+    }
+
+    private Order createOrder(OrderServiceImpl orderService) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return orderService.createOrder(random.nextLong(MEMBERS) + 1, "itemA", random.nextInt(100_000));
+    }
+
+    // 등급별 가격 구간 규칙 + 일부는 하루짜리 기간 규칙
+    private static List<DiscountRule> rules(int count) {
+        Instant now = Instant.now();
+        List<DiscountRule> rules = new ArrayList<>();
+        int width = Math.max(1, 100_000 / count);
+        for (int i = 0; i < count; i++) {
+            Grade grade = Grade.values()[i % Grade.values().length];
+            int min = (i * 7919) % 100_000;
+            DiscountRule rule = i % 2 == 0
+                    ? DiscountRule.rate(grade, 1 + i % 5)
+                    : DiscountRule.fixed(grade, 100 * (1 + i % 10));
+            rule = rule.priceBetween(min, min + width * 3);
+            if (i % 5 == 0) {
+                rule = rule.during(now.minus(1, ChronoUnit.DAYS), now.plus(1, ChronoUnit.DAYS));
+            }
+            rules.add(rule);
+        }
+        return rules;
+    }
+
+    // 비교용: 주문마다 규칙 목록을 처음부터 끝까지 평가한다.
+    static class ListDiscountPolicy implements DiscountPolicy {
+        private final List<DiscountRule> rules;
+        private final Clock clock;
+
+        ListDiscountPolicy(List<DiscountRule> rules, Clock clock) {
+            this.rules = rules;
+            this.clock = clock;
+        }
+
+        @Override
+        public int discount(Member member, int price) {
+            long now = clock.millis();
+            long fixed = 0;
+            int rate = 0;
+            for (DiscountRule rule : rules) {
+                if (!rule.matches(member.getGrade(), price, now)) {
+                    continue;
+                }
+                if (rule.getType() == DiscountRule.Type.FIXED) {
+                    fixed += rule.getAmount();
+                } else {
+                    rate += rule.getAmount();
+                }
+            }
+            return (int) Math.min(price, fixed + (long) price * Math.min(100, rate) / 100);
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package hello.core.common;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * long 키 전용 동시성 맵 (open addressing, linear probing)
+ * - 키를 Long 으로 박싱하지 않는다. 슬롯에는 (long key, value) 불변 Entry 를 넣는다.
+ * - 읽기는 락 없이 현재 테이블을 훑는다.
+ * - 쓰기는 키 해시로 고른 stripe 락을 잡는다. 같은 키는 같은 stripe 이므로 중복 삽입이 없고,
+ *   다른 키끼리 같은 빈 슬롯을 노리면 CAS 로 한쪽만 차지한다.
+ * - 삭제는 TOMBSTONE 으로 표시하고, 리사이즈는 모든 stripe 락을 잡은 뒤 새 테이블을 만들어 바꿔 끼운다.
+ */
+public class ConcurrentLongMap<V> {
+    private static final int STRIPES = 16;
+    private static final int MIN_CAPACITY = 16;
+    private static final Entry<Object> TOMBSTONE = new Entry<>(0, null);
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicInteger used = new AtomicInteger(); // 값 + TOMBSTONE 이 차지한 슬롯 수
+    private volatile AtomicReferenceArray<Entry<V>> table;
+
+    public ConcurrentLongMap() {
+        this(MIN_CAPACITY);
+    }
+
+    public ConcurrentLongMap(int initialCapacity) {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.table = new AtomicReferenceArray<>(tableSizeFor(initialCapacity));
+    }
+
+    public V get(long key) {
+        AtomicReferenceArray<Entry<V>> tab = table;
+        int mask = tab.length() - 1;
+        for (int i = hash(key) & mask, probes = 0; probes <= mask; i = (i + 1) & mask, probes++) {
+            Entry<V> entry = tab.get(i);
+            if (entry == null) {
+                return null;
+            }
+            if (entry != TOMBSTONE && entry.key == key) {
+                return entry.value;
+            }
+        }
+        return null;
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * @return 이전 값, 없었으면 null
+     */
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new NullPointerException("value");
+        }
+        int hash = hash(key);
+        while (true) {
+            ReentrantLock lock = locks[hash & (STRIPES - 1)];
+            lock.lock();
+            Inserted<V> result;
+            try {
+                result = putLocked(table, hash, key, value);
+            } finally {
+                lock.unlock();
+            }
+            if (result == null) {
+                resize(); // 빈 슬롯이 없다.
+                continue;
+            }
+            if (result.added && used.get() > threshold(table)) {
+                resize();
+            }
+            return result.previous;
+        }
+    }
+
+    public V remove(long key) {
+        int hash = hash(key);
+        ReentrantLock lock = locks[hash & (STRIPES - 1)];
+        lock.lock();
+        try {
+            AtomicReferenceArray<Entry<V>> tab = table;
+            int mask = tab.length() - 1;
+            for (int i = hash & mask, probes = 0; probes <= mask; i = (i + 1) & mask, probes++) {
+                Entry<V> entry = tab.get(i);
+                if (entry == null) {
+                    return null;
+                }
+                if (entry != TOMBSTONE && entry.key == key) {
+                    tab.set(i, tombstone());
+                    size.decrementAndGet();
+                    return entry.value;
+                }
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public int capacity() {
+        return table.length();
+    }
+
+    public void clear() {
+        lockAll();
+        try {
+            table = new AtomicReferenceArray<>(MIN_CAPACITY);
+            size.set(0);
+            used.set(0);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    // 같은 키를 쓰는 쓰레드는 stripe 락으로 막혀 있으므로 키가 두 슬롯에 들어가지 않는다.
+    private Inserted<V> putLocked(AtomicReferenceArray<Entry<V>> tab, int hash, long key, V value) {
+        int mask = tab.length() - 1;
+        int reusable = -1;
+        for (int i = hash & mask, probes = 0; probes <= mask; i = (i + 1) & mask, probes++) {
+            Entry<V> entry = tab.get(i);
+            if (entry == null) {
+                break;
+            }
+            if (entry == TOMBSTONE) {
+                if (reusable < 0) {
+                    reusable = i;
+                }
+            } else if (entry.key == key) {
+                // 같은 키의 슬롯은 이 stripe 만 바꾸므로 그냥 써도 된다.
+                tab.set(i, new Entry<>(key, value));
+                return new Inserted<>(entry.value, false);
+            }
+        }
+        Entry<V> created = new Entry<>(key, value);
+        if (reusable >= 0 && tab.compareAndSet(reusable, tombstone(), created)) {
+            size.incrementAndGet();
+            return new Inserted<>(null, false);
+        }
+        // 다른 stripe 쓰레드와 빈 슬롯을 다툰다.
+        for (int i = hash & mask, probes = 0; probes <= mask; i = (i + 1) & mask, probes++) {
+            Entry<V> entry = tab.get(i);
+            if (entry == null && tab.compareAndSet(i, null, created)) {
+                size.incrementAndGet();
+                used.incrementAndGet();
+                return new Inserted<>(null, true);
+            }
+            if (entry == TOMBSTONE && tab.compareAndSet(i, tombstone(), created)) {
+                size.incrementAndGet();
+                return new Inserted<>(null, false);
+            }
+        }
+        return null;
+    }
+
+    private void resize() {
+        lockAll();
+        try {
+            AtomicReferenceArray<Entry<V>> old = table;
+            if (used.get() <= threshold(old) && size.get() < old.length()) {
+                return; // 다른 쓰레드가 이미 늘렸다.
+            }
+            AtomicReferenceArray<Entry<V>> next = new AtomicReferenceArray<>(tableSizeFor(size.get() * 2 + 1));
+            int mask = next.length() - 1;
+            int count = 0;
+            for (int i = 0; i < old.length(); i++) {
+                Entry<V> entry = old.get(i);
+                if (entry == null || entry == TOMBSTONE) {
+                    continue;
+                }
+                int j = hash(entry.key) & mask;
+                while (next.get(j) != null) {
+                    j = (j + 1) & mask;
+                }
+                next.set(j, entry);
+                count++;
+            }
+            size.set(count);
+            used.set(count);
+            table = next;
+        } finally {
+            unlockAll();
+        }
+    }
+
+    private void lockAll() {
+        for (ReentrantLock lock : locks) {
+            lock.lock();
+        }
+    }
+
+    private void unlockAll() {
+        for (int i = locks.length - 1; i >= 0; i--) {
+            locks[i].unlock();
+        }
+    }
+
+    private static int threshold(AtomicReferenceArray<?> tab) {
+        return tab.length() / 4 * 3;
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int n = Math.max(MIN_CAPACITY, capacity);
+        return n >= 1 << 30 ? 1 << 30 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> Entry<V> tombstone() {
+        return (Entry<V>) TOMBSTONE;
+    }
+
+    private static final class Entry<V> {
+        private final long key;
+        private final V value;
+
+        Entry(long key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private static final class Inserted<V> {
+        private final V previous;
+        private final boolean added; // 빈 슬롯을 새로 썼는지 (리사이즈 판단용)
+
+        Inserted(V previous, boolean added) {
+            this.previous = previous;
+            this.added = added;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package hello.core.discount;
+
+import hello.core.member.Grade;
+
+import java.time.Instant;
+
+/**
+ * 선언형 할인 규칙 하나. 조건(등급, 가격 구간, 기간)에 맞으면 정액 또는 정률 할인을 더한다.
+ * 여러 규칙이 겹치면 모두 합산하고, 할인 금액은 가격을 넘지 않는다.
+ * - grade 가 null 이면 모든 등급
+ * - 가격 구간은 [minPrice, maxPrice)
+ * - 기간은 [from, to), null 이면 제한 없음
+ */
+public class DiscountRule {
+    public enum Type {
+        FIXED, // amount 원 할인
+        RATE   // amount % 할인
+    }
+
+    private final Type type;
+    private final int amount;
+    private final Grade grade;
+    private final int minPrice;
+    private final int maxPrice;
+    private final Instant from;
+    private final Instant to;
+
+    public DiscountRule(Type type, int amount, Grade grade, int minPrice, int maxPrice, Instant from, Instant to) {
+        if (amount < 0 || (type == Type.RATE && amount > 100)) {
+            throw new IllegalArgumentException("잘못된 할인 값: " + type + " " + amount);
+        }
+        if (minPrice < 0 || minPrice >= maxPrice) {
+            throw new IllegalArgumentException("잘못된 가격 구간: [" + minPrice + ", " + maxPrice + ")");
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("잘못된 기간: [" + from + ", " + to + ")");
+        }
+        this.type = type;
+        this.amount = amount;
+        this.grade = grade;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.from = from;
+        this.to = to;
+    }
+
+    public static DiscountRule fixed(Grade grade, int amount) {
+        return new DiscountRule(Type.FIXED, amount, grade, 0, Integer.MAX_VALUE, null, null);
+    }
+
+    public static DiscountRule rate(Grade grade, int percent) {
+        return new DiscountRule(Type.RATE, percent, grade, 0, Integer.MAX_VALUE, null, null);
+    }
+
+    public DiscountRule priceBetween(int minPrice, int maxPrice) {
+        return new DiscountRule(type, amount, grade, minPrice, maxPrice, from, to);
+    }
+
+    public DiscountRule during(Instant from, Instant to) {
+        return new DiscountRule(type, amount, grade, minPrice, maxPrice, from, to);
+    }
+
+    public boolean isActive(long nowMillis) {
+        return (from == null || from.toEpochMilli() <= nowMillis)
+                && (to == null || nowMillis < to.toEpochMilli());
+    }
+
+    public boolean matches(Grade grade, int price, long nowMillis) {
+        return (this.grade == null || this.grade == grade)
+                && minPrice <= price && price < maxPrice
+                && isActive(nowMillis);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getAmount() {
+        return amount;
+    }
+
+    public Grade getGrade() {
+        return grade;
+    }
+
+    public int getMinPrice() {
+        return minPrice;
+    }
+
+    public int getMaxPrice() {
+        return maxPrice;
+    }
+
+    public Instant getFrom() {
+        return from;
+    }
+
+    public Instant getTo() {
+        return to;
+    }
+
+    @Override
+    public String toString() {
+        return "DiscountRule{" +
+                "type=" + type +
+                ", amount=" + amount +
+                ", grade=" + grade +
+                ", price=[" + minPrice + ", " + maxPrice + ")" +
+                ", from=" + from +
+                ", to=" + to +
+                '}';
+    }
+}
@@ -0,0 +1,107 @@
+package hello.core.discount;
+
+import hello.core.member.Grade;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * 규칙 목록을 (등급 ordinal, 가격 구간) 2차원 표로 펼친 것. 한 번 만들면 바뀌지 않는다.
+ * - 가격 구간은 모든 규칙의 경계값을 정렬한 bounds 로 나눈다. 구간 i = [bounds[i-1], bounds[i])
+ * - 칸마다 겹치는 규칙의 정액 합계와 정률 합계를 미리 더해 둔다.
+ * - 기간 규칙은 만들 때 활성인 것만 넣고, 다음 경계 시각까지만 유효하다.
+ */
+class DiscountTable {
+    private static final int GRADES = Grade.values().length;
+
+    private final int[] bounds;
+    private final int bands;
+    private final int[] fixed;
+    private final int[] rate;
+    private final long validFrom;
+    private final long validUntil;
+
+    private DiscountTable(int[] bounds, int[] fixed, int[] rate, long validFrom, long validUntil) {
+        this.bounds = bounds;
+        this.bands = bounds.length + 1;
+        this.fixed = fixed;
+        this.rate = rate;
+        this.validFrom = validFrom;
+        this.validUntil = validUntil;
+    }
+
+    static DiscountTable compile(List<DiscountRule> rules, long nowMillis) {
+        TreeSet<Integer> boundSet = new TreeSet<>();
+        long[] window = {Long.MIN_VALUE, Long.MAX_VALUE};
+        for (DiscountRule rule : rules) {
+            if (rule.getMinPrice() > 0) {
+                boundSet.add(rule.getMinPrice());
+            }
+            if (rule.getMaxPrice() < Integer.MAX_VALUE) {
+                boundSet.add(rule.getMaxPrice());
+            }
+            narrow(window, rule.getFrom(), nowMillis);
+            narrow(window, rule.getTo(), nowMillis);
+        }
+        int[] bounds = boundSet.stream().mapToInt(Integer::intValue).toArray();
+        int bands = bounds.length + 1;
+        int[] fixed = new int[GRADES * bands];
+        int[] rate = new int[GRADES * bands];
+        for (DiscountRule rule : rules) {
+            if (!rule.isActive(nowMillis)) {
+                continue;
+            }
+            int firstBand = band(bounds, rule.getMinPrice());
+            int lastBand = rule.getMaxPrice() == Integer.MAX_VALUE ? bands - 1 : band(bounds, rule.getMaxPrice()) - 1;
+            for (Grade grade : Grade.values()) {
+                if (rule.getGrade() != null && rule.getGrade() != grade) {
+                    continue;
+                }
+                for (int band = firstBand; band <= lastBand; band++) {
+                    int cell = grade.ordinal() * bands + band;
+                    if (rule.getType() == DiscountRule.Type.FIXED) {
+                        fixed[cell] = (int) Math.min(Integer.MAX_VALUE, (long) fixed[cell] + rule.getAmount());
+                    } else {
+                        rate[cell] = Math.min(100, rate[cell] + rule.getAmount());
+                    }
+                }
+            }
+        }
+        return new DiscountTable(bounds, fixed, rate, window[0], window[1]);
+    }
+
+    // 지금을 감싸는 가장 가까운 기간 경계로 [validFrom, validUntil) 을 좁힌다.
+    private static void narrow(long[] window, Instant edge, long nowMillis) {
+        if (edge == null) {
+            return;
+        }
+        long millis = edge.toEpochMilli();
+        if (millis <= nowMillis) {
+            window[0] = Math.max(window[0], millis);
+        } else {
+            window[1] = Math.min(window[1], millis);
+        }
+    }
+
+    boolean isValidAt(long nowMillis) {
+        return validFrom <= nowMillis && nowMillis < validUntil;
+    }
+
+    int discount(Grade grade, int price) {
+        int cell = grade.ordinal() * bands + band(bounds, price);
+        long amount = fixed[cell] + (long) price * rate[cell] / 100;
+        return (int) Math.max(0, Math.min(price, amount));
+    }
+
+    int bandCount() {
+        return bands;
+    }
+
+    // bounds 중 price 이하인 값의 개수 = 구간 번호
+    private static int band(int[] bounds, int price) {
+        int index = Arrays.binarySearch(bounds, price);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+}
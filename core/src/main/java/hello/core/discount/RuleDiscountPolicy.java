@@ -0,0 +1,72 @@
+package hello.core.discount;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 규칙 목록을 DiscountTable 로 컴파일해 두고 표를 한 번 찾아 할인한다. (객체 생성 없음)
+ * - update() 는 새 표를 다 만든 뒤 한 번에 바꿔 끼운다. 주문 처리 중인 쓰레드는 이전 표나 새 표 중 하나만 본다.
+ * - 기간 규칙의 경계 시각이 지나면 처음 본 쓰레드가 표를 다시 만든다.
+ * - 기본 규칙은 RateDiscountPolicy 와 같다. (VIP 10%)
+ */
+@Component
+public class RuleDiscountPolicy implements DiscountPolicy {
+    private final Clock clock;
+    private final AtomicReference<Rules> current = new AtomicReference<>();
+
+    public RuleDiscountPolicy() {
+        this(List.of(DiscountRule.rate(Grade.VIP, 10)), Clock.systemUTC());
+    }
+
+    public RuleDiscountPolicy(List<DiscountRule> rules, Clock clock) {
+        this.clock = clock;
+        update(rules);
+    }
+
+    @Override
+    public int discount(Member member, int price) {
+        DiscountTable table = current.get().table;
+        long now = clock.millis();
+        if (!table.isValidAt(now)) {
+            table = recompile(now);
+        }
+        return table.discount(member.getGrade(), price);
+    }
+
+    public void update(List<DiscountRule> rules) {
+        List<DiscountRule> copy = List.copyOf(rules);
+        current.set(new Rules(copy, DiscountTable.compile(copy, clock.millis())));
+    }
+
+    public List<DiscountRule> getRules() {
+        return current.get().rules;
+    }
+
+    private DiscountTable recompile(long now) {
+        Rules before = current.get();
+        if (before.table.isValidAt(now)) {
+            return before.table;
+        }
+        Rules after = new Rules(before.rules, DiscountTable.compile(before.rules, now));
+        // 그 사이 update() 로 규칙이 바뀌었으면 새 규칙을 덮어쓰지 않는다.
+        if (!current.compareAndSet(before, after)) {
+            return current.get().table;
+        }
+        return after.table;
+    }
+
+    private static final class Rules {
+        private final List<DiscountRule> rules;
+        private final DiscountTable table;
+
+        Rules(List<DiscountRule> rules, DiscountTable table) {
+            this.rules = rules;
+            this.table = table;
+        }
+    }
+}
@@ -1,13 +1,12 @@
 package hello.core.member;
 
+import hello.core.common.ConcurrentLongMap;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
-import java.util.Map;
-
 @Component
 public class MemoryMemberRepository implements MemberRepository{
-    private static Map<Long, Member> store = new HashMap<>();
+    // id 를 Long 으로 박싱해 두지 않는 long 키 전용 맵 (여러 쓰레드에서 읽고 써도 된다)
+    private static ConcurrentLongMap<Member> store = new ConcurrentLongMap<>();
     @Override
     public void save(Member member) {
         store.put(member.getId(), member);
@@ -15,6 +14,9 @@ public class MemoryMemberRepository implements MemberRepository{
 
     @Override
     public Member findById(Long memberId) {
+        if (memberId == null) {
+            return null;
+        }
         return store.get(memberId);
     }
 }
@@ -0,0 +1,146 @@
+package hello.core.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ConcurrentLongMapTest {
+
+    @Test
+    void putGetRemove() {
+        ConcurrentLongMap<String> map = new ConcurrentLongMap<>();
+        assertThat(map.put(1L, "a")).isNull();
+        assertThat(map.put(1L, "b")).isEqualTo("a");
+        assertThat(map.put(-1L, "c")).isNull();
+        assertThat(map.get(1L)).isEqualTo("b");
+        assertThat(map.get(-1L)).isEqualTo("c");
+        assertThat(map.get(2L)).isNull();
+        assertThat(map.size()).isEqualTo(2);
+
+        assertThat(map.remove(1L)).isEqualTo("b");
+        assertThat(map.remove(1L)).isNull();
+        assertThat(map.get(1L)).isNull();
+        assertThat(map.size()).isEqualTo(1);
+
+        map.clear();
+        assertThat(map.size()).isZero();
+        assertThat(map.get(-1L)).isNull();
+    }
+
+    @Test
+    void removedSlotIsReused() {
+        ConcurrentLongMap<Long> map = new ConcurrentLongMap<>(16);
+        for (int round = 0; round < 1000; round++) {
+            for (long key = 0; key < 8; key++) {
+                map.put(key, round * 100L + key);
+            }
+            for (long key = 0; key < 8; key++) {
+                assertThat(map.remove(key)).isEqualTo(round * 100L + key);
+            }
+        }
+        // TOMBSTONE 만 쌓여 테이블이 계속 커지지 않는다.
+        assertThat(map.size()).isZero();
+        assertThat(map.capacity()).isLessThanOrEqualTo(32);
+    }
+
+    @Test
+    void growsFromSmallCapacity() {
+        ConcurrentLongMap<Long> map = new ConcurrentLongMap<>(2);
+        for (long key = 0; key < 10_000; key++) {
+            map.put(key * 31, key);
+        }
+        assertThat(map.size()).isEqualTo(10_000);
+        assertThat(map.capacity()).isGreaterThanOrEqualTo(10_000 * 4 / 3);
+        for (long key = 0; key < 10_000; key++) {
+            assertThat(map.get(key * 31)).isEqualTo(key);
+        }
+    }
+
+    @Test
+    void concurrentPutWhileResizing() throws Exception {
+        int threads = 8;
+        int perThread = 20_000;
+        ConcurrentLongMap<Long> map = new ConcurrentLongMap<>(16);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long base = (long) t * perThread;
+            futures.add(executor.submit(() -> {
+                start.await();
+                int missing = 0;
+                for (long key = base; key < base + perThread; key++) {
+                    map.put(key, key);
+                    // 리사이즈 중에도 방금 쓴 값은 보여야 한다.
+                    if (map.get(key) == null) {
+                        missing++;
+                    }
+                }
+                return missing;
+            }));
+        }
+        start.countDown();
+        for (Future<Integer> future : futures) {
+            assertThat(future.get(30, TimeUnit.SECONDS)).isZero();
+        }
+        executor.shutdown();
+
+        assertThat(map.size()).isEqualTo(threads * perThread);
+        for (long key = 0; key < (long) threads * perThread; key++) {
+            assertThat(map.get(key)).isEqualTo(key);
+        }
+    }
+
+    @Test
+    void concurrentPutAndRemove() throws Exception {
+        int threads = 8;
+        int keys = 1_000;
+        ConcurrentLongMap<Long> map = new ConcurrentLongMap<>(16);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long owner = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                // 쓰레드마다 key % threads == owner 인 키만 만진다.
+                for (int round = 0; round < 50; round++) {
+                    for (long key = owner; key < keys; key += threads) {
+                        map.put(key, key);
+                    }
+                    for (long key = owner; key < keys; key += threads) {
+                        if (round % 2 == 0 || key % 3 == 0) {
+                            map.remove(key);
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // 마지막 라운드(홀수)에서는 3의 배수만 지웠다.
+        int expected = 0;
+        for (long key = 0; key < keys; key++) {
+            if (key % 3 == 0) {
+                assertThat(map.get(key)).isNull();
+            } else {
+                assertThat(map.get(key)).isEqualTo(key);
+                expected++;
+            }
+        }
+        assertThat(map.size()).isEqualTo(expected);
+    }
+}
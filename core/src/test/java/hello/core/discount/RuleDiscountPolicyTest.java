@@ -0,0 +1,133 @@
+package hello.core.discount;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RuleDiscountPolicyTest {
+    Member vip = new Member(1L, "memberVIP", Grade.VIP);
+    Member basic = new Member(2L, "memberBASIC", Grade.BASIC);
+
+    @Test
+    @DisplayName("기본 규칙은 RateDiscountPolicy 와 같다.")
+    void defaultRules() {
+        RuleDiscountPolicy policy = new RuleDiscountPolicy();
+        assertThat(policy.discount(vip, 10000)).isEqualTo(1000);
+        assertThat(policy.discount(basic, 10000)).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("겹치는 규칙은 가격 구간별로 합산되고 가격을 넘지 않는다.")
+    void stackedPriceBands() {
+        RuleDiscountPolicy policy = new RuleDiscountPolicy(List.of(
+                DiscountRule.rate(Grade.VIP, 10),
+                DiscountRule.fixed(null, 500).priceBetween(10000, 50000),
+                DiscountRule.fixed(Grade.VIP, 3000).priceBetween(50000, Integer.MAX_VALUE),
+                DiscountRule.fixed(null, 2000).priceBetween(0, 1000)
+        ), Clock.systemUTC());
+
+        assertThat(policy.discount(basic, 9999)).isEqualTo(0);
+        assertThat(policy.discount(basic, 10000)).isEqualTo(500);
+        assertThat(policy.discount(basic, 49999)).isEqualTo(500);
+        assertThat(policy.discount(basic, 50000)).isEqualTo(0);
+        assertThat(policy.discount(vip, 20000)).isEqualTo(2000 + 500);
+        assertThat(policy.discount(vip, 50000)).isEqualTo(5000 + 3000);
+        assertThat(policy.discount(vip, 800)).isEqualTo(800);
+    }
+
+    @Test
+    @DisplayName("컴파일한 표는 규칙을 하나씩 평가한 결과와 같다.")
+    void sameAsEvaluatingRules() {
+        List<DiscountRule> rules = List.of(
+                DiscountRule.rate(null, 5).priceBetween(3000, 70000),
+                DiscountRule.rate(Grade.VIP, 7).priceBetween(20000, 90000),
+                DiscountRule.fixed(Grade.BASIC, 700).priceBetween(1000, 20000),
+                DiscountRule.fixed(null, 100).priceBetween(50000, 50001)
+        );
+        RuleDiscountPolicy policy = new RuleDiscountPolicy(rules, Clock.systemUTC());
+        long now = System.currentTimeMillis();
+        for (Grade grade : Grade.values()) {
+            Member member = new Member(3L, "member", grade);
+            for (int price = 0; price <= 100000; price += 250) {
+                assertThat(policy.discount(member, price)).isEqualTo(evaluate(rules, grade, price, now));
+                assertThat(policy.discount(member, price + 1)).isEqualTo(evaluate(rules, grade, price + 1, now));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("기간 규칙은 시작과 끝 시각에 맞춰 켜지고 꺼진다.")
+    void timeWindow() {
+        AtomicLong now = new AtomicLong(1_000);
+        Clock clock = new Clock() {
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(java.time.ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return Instant.ofEpochMilli(now.get());
+            }
+        };
+        RuleDiscountPolicy policy = new RuleDiscountPolicy(List.of(
+                DiscountRule.fixed(null, 1000).during(Instant.ofEpochMilli(2_000), Instant.ofEpochMilli(3_000))
+        ), clock);
+
+        assertThat(policy.discount(basic, 10000)).isEqualTo(0);
+        now.set(2_000);
+        assertThat(policy.discount(basic, 10000)).isEqualTo(1000);
+        now.set(2_999);
+        assertThat(policy.discount(basic, 10000)).isEqualTo(1000);
+        now.set(3_000);
+        assertThat(policy.discount(basic, 10000)).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("update 로 규칙을 바꾸면 바로 적용된다.")
+    void hotSwap() {
+        RuleDiscountPolicy policy = new RuleDiscountPolicy();
+        policy.update(List.of(DiscountRule.fixed(Grade.BASIC, 1500)));
+
+        assertThat(policy.discount(vip, 10000)).isEqualTo(0);
+        assertThat(policy.discount(basic, 10000)).isEqualTo(1500);
+        assertThat(policy.getRules()).hasSize(1);
+    }
+
+    @Test
+    void invalidRule() {
+        assertThatThrownBy(() -> DiscountRule.rate(Grade.VIP, 101)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> DiscountRule.fixed(Grade.VIP, 100).priceBetween(5000, 5000))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private int evaluate(List<DiscountRule> rules, Grade grade, int price, long now) {
+        long fixed = 0;
+        int rate = 0;
+        for (DiscountRule rule : rules) {
+            if (!rule.matches(grade, price, now)) {
+                continue;
+            }
+            if (rule.getType() == DiscountRule.Type.FIXED) {
+                fixed += rule.getAmount();
+            } else {
+                rate += rule.getAmount();
+            }
+        }
+        return (int) Math.min(price, fixed + (long) price * Math.min(100, rate) / 100);
+    }
+}
@@ -0,0 +1,139 @@
+package hello.hellospring.benchmark;
+
+import hello.hellospring.HelloSpringApplication;
+import hello.hellospring.domain.Member;
+import hello.hellospring.repository.JdbcMemberRepository;
+import hello.hellospring.repository.JdbcTemplateMemberRepository;
+import hello.hellospring.repository.JpaMemberRepository;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * H2 메모리 DB 에 회원 size 명을 넣고 읽는 비용 (한 번의 호출 = size 명)
+ * 저장은 모두 트랜잭션 하나 안에서 한다. (jdbcSaveLoop 는 트랜잭션 안에서 PreparedStatement 재사용)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MemberRepositoryBenchmark {
+    @Param({"1000"})
+    int size;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private JdbcMemberRepository jdbcRepository;
+    private JdbcTemplateMemberRepository jdbcTemplateRepository;
+    private JpaMemberRepository jpaRepository;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(HelloSpringApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.show-sql=false",
+                        "spring.devtools.restart.enabled=false",
+                        "time-trace.slow-threshold-ms=0")
+                .run();
+        DataSource dataSource = context.getBean(DataSource.class);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        jdbcRepository = new JdbcMemberRepository(dataSource, 100, 100);
+        jdbcTemplateRepository = new JdbcTemplateMemberRepository(dataSource);
+        jpaRepository = new JpaMemberRepository(context.getBean(EntityManager.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // 조회 벤치마크가 읽을 size 명만 남긴다.
+    @Setup(Level.Iteration)
+    public void reset() {
+        jdbcTemplate.update("delete from member");
+        jdbcRepository.saveAll(members());
+    }
+
+    @Benchmark
+    public List<Member> jdbcSaveLoop() {
+        return transactionTemplate.execute(status -> {
+            List<Member> members = members();
+            members.forEach(jdbcRepository::save);
+            return members;
+        });
+    }
+
+    @Benchmark
+    public List<Member> jdbcSaveAll() {
+        return transactionTemplate.execute(status -> jdbcRepository.saveAll(members()));
+    }
+
+    @Benchmark
+    public List<Member> jdbcTemplateSaveLoop() {
+        return transactionTemplate.execute(status -> {
+            List<Member> members = members();
+            members.forEach(jdbcTemplateRepository::save);
+            return members;
+        });
+    }
+
+    @Benchmark
+    public List<Member> jpaSaveLoop() {
+        return transactionTemplate.execute(status -> {
+            List<Member> members = members();
+            members.forEach(jpaRepository::save);
+            return members;
+        });
+    }
+
+    @Benchmark
+    public int jdbcFindAll() {
+        return jdbcRepository.findAll().size();
+    }
+
+    @Benchmark
+    public long jdbcStreamAll() {
+        try (Stream<Member> stream = jdbcRepository.streamAll()) {
+            return stream.count();
+        }
+    }
+
+    @Benchmark
+    public int jdbcTemplateFindAll() {
+        return jdbcTemplateRepository.findAll().size();
+    }
+
+    private List<Member> members() {
+        List<Member> members = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Member member = new Member();
+            member.setName("member" + i);
+            members.add(member);
+        }
+        return members;
+    }
+}
@@ -0,0 +1,72 @@
+package hello.hellospring.benchmark;
+
+import hello.hellospring.domain.Member;
+import hello.hellospring.repository.MemoryMemberRepository;
+import hello.hellospring.service.MemberService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 8 쓰레드가 동시에 가입(join = findByName 검증 + save)하는 비용
+ * scanFindByName 은 예전 구현(values 전체를 훑는 방식)과 같은 방식으로 이름을 찾는다.
+ */
+@State(Scope.Benchmark)
+@Threads(8)
+public class MemoryMemberRepositoryBenchmark {
+    private static final AtomicInteger threadSeq = new AtomicInteger();
+
+    @Param({"10000"})
+    int members;
+
+    private final MemoryMemberRepository repository = new MemoryMemberRepository();
+    private final MemberService memberService = new MemberService(repository);
+    private String existingName;
+
+    @State(Scope.Thread)
+    public static class Names {
+        final String prefix = "thread" + threadSeq.incrementAndGet() + "-";
+        long seq;
+
+        String next() {
+            return prefix + seq++;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        repository.clearStore();
+        for (int i = 0; i < members; i++) {
+            Member member = new Member();
+            member.setName("member" + i);
+            repository.save(member);
+        }
+        existingName = "member" + (members / 2);
+    }
+
+    @Benchmark
+    public Long join(Names names) {
+        Member member = new Member();
+        member.setName(names.next());
+        return memberService.join(member);
+    }
+
+    @Benchmark
+    public Optional<Member> findByName() {
+        return repository.findByName(existingName);
+    }
+
+    @Benchmark
+    public Optional<Member> scanFindByName() {
+        return repository.findAll().stream()
+                .filter(member -> member.getName().equals(existingName))
+                .findAny();
+    }
+}
@@ -0,0 +1,55 @@
+package hello.hellospring.aop;
+
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메서드별 히스토그램 저장소. 이름(예: hello.hellospring.service.MemberService.join(hello.hellospring.domain.Member))은 처음 한 번만 만든다.
+ * 이름에 패키지와 파라미터 타입을 넣으므로 오버로드나 이름이 같은 클래스도 따로 남는다.
+ */
+@Component
+public class MethodLatencyRegistry {
+    private final ConcurrentHashMap<Method, MethodTimer> timers = new ConcurrentHashMap<>();
+
+    public MethodTimer record(Method method, long elapsedNanos) {
+        MethodTimer timer = timers.get(method);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(method, MethodTimer::new);
+        }
+        timer.histogram.record(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+        return timer;
+    }
+
+    public Map<String, LatencySnapshot> snapshots() {
+        Map<String, LatencySnapshot> result = new TreeMap<>();
+        timers.values().forEach(timer -> result.put(timer.name, timer.histogram.snapshot()));
+        return result;
+    }
+
+    public static class MethodTimer {
+        private final String name;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        MethodTimer(Method method) {
+            StringBuilder sb = new StringBuilder()
+                    .append(method.getDeclaringClass().getName()).append('.').append(method.getName()).append('(');
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            for (int i = 0; i < parameterTypes.length; i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                sb.append(parameterTypes[i].getTypeName());
+            }
+            this.name = sb.append(')').toString();
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
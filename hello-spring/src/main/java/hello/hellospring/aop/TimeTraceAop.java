@@ -3,13 +3,55 @@ package hello.hellospring.aop;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.TimeUnit;
+
+/**
+ * time-trace.mode=metrics (기본): 메서드별 히스토그램에 기록한다. 결과는 /time-trace 에서 본다.
+ * time-trace.mode=print: 예전처럼 START/END 를 System.out 에 찍는다. (System.out 은 동기화되어 있어 동시 요청이 줄을 선다)
+ * time-trace.slow-threshold-ms 보다 오래 걸린 호출은 로그로 남긴다. (0 이면 끔)
+ */
 @Aspect
 @Component
 public class TimeTraceAop {
-    @Around("execution(* hello.hellospring..*(..))")
+    private static final Logger log = LoggerFactory.getLogger(TimeTraceAop.class);
+
+    private final MethodLatencyRegistry registry;
+    private final boolean print;
+    private final long slowThresholdNanos;
+
+    public TimeTraceAop(MethodLatencyRegistry registry,
+                        @Value("${time-trace.mode:metrics}") String mode,
+                        @Value("${time-trace.slow-threshold-ms:0}") long slowThresholdMs) {
+        this.registry = registry;
+        this.print = "print".equals(mode);
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+    }
+
+    // 기록하는 쪽(aop 패키지)까지 감싸면 record 가 자기 자신을 다시 부른다.
+    @Around("execution(* hello.hellospring..*(..)) && !within(hello.hellospring.aop..*)")
     public Object execute(ProceedingJoinPoint joinPoint) throws Throwable{
+        if (print) {
+            return printExecute(joinPoint);
+        }
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            MethodLatencyRegistry.MethodTimer timer = registry.record(((MethodSignature) joinPoint.getSignature()).getMethod(), elapsed);
+            if (slowThresholdNanos > 0 && elapsed >= slowThresholdNanos) {
+                log.warn("SLOW: {} {}ms", timer.getName(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+            }
+        }
+    }
+
+    private Object printExecute(ProceedingJoinPoint joinPoint) throws Throwable {
         long start = System.currentTimeMillis();
         System.out.println("START: " + joinPoint.toString());
         try{
@@ -19,6 +61,5 @@ public class TimeTraceAop {
             long timeMs = finish - start;
             System.out.println("END: " + joinPoint.toString() + " " + timeMs + "ms");
         }
-
     }
 }
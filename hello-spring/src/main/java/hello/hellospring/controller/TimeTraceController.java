@@ -0,0 +1,27 @@
+package hello.hellospring.controller;
+
+import hello.hellospring.aop.LatencySnapshot;
+import hello.hellospring.aop.MethodLatencyRegistry;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.Map;
+
+@Controller
+public class TimeTraceController {
+    private final MethodLatencyRegistry registry;
+
+    public TimeTraceController(MethodLatencyRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * 메서드별 호출 수, p50/p90/p99/p999/max (마이크로초)
+     */
+    @GetMapping("time-trace")
+    @ResponseBody
+    public Map<String, LatencySnapshot> timeTrace() {
+        return registry.snapshots();
+    }
+}
@@ -1,15 +1,33 @@
 package hello.hellospring.repository;
 import hello.hellospring.domain.Member;
 import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import javax.sql.DataSource;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 public class JdbcMemberRepository implements MemberRepository {
+    private static final int DEFAULT_BATCH_SIZE = 100;
+    private static final int DEFAULT_FETCH_SIZE = 100;
     private final DataSource dataSource;
+    private final int batchSize;
+    private final int fetchSize;
     public JdbcMemberRepository(DataSource dataSource) {
+        this(dataSource, DEFAULT_BATCH_SIZE, DEFAULT_FETCH_SIZE);
+    }
+    public JdbcMemberRepository(DataSource dataSource, int batchSize, int fetchSize) {
         this.dataSource = dataSource;
+        this.batchSize = batchSize;
+        this.fetchSize = fetchSize;
     }
     @Override
     public Member save(Member member) {
@@ -19,8 +37,7 @@ public class JdbcMemberRepository implements MemberRepository {
         ResultSet rs = null;
         try {
             conn = getConnection();
-            pstmt = conn.prepareStatement(sql,
-                    Statement.RETURN_GENERATED_KEYS);
+            pstmt = prepareStatement(conn, sql, true);
             pstmt.setString(1, member.getName());
             pstmt.executeUpdate();
             rs = pstmt.getGeneratedKeys();
@@ -36,6 +53,42 @@ public class JdbcMemberRepository implements MemberRepository {
             close(conn, pstmt, rs);
         }
     }
+    /**
+     * batchSize 개씩 묶어서 insert 하고 생성된 id 를 순서대로 채운다.
+     * 트랜잭션 밖에서 호출하면 배치마다 커밋되므로 중간에 실패하면 앞의 배치는 남는다.
+     */
+    public List<Member> saveAll(List<Member> members) {
+        String sql = "insert into member(name) values(?)";
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        try {
+            conn = getConnection();
+            pstmt = prepareStatement(conn, sql, true);
+            for (int from = 0; from < members.size(); from += batchSize) {
+                List<Member> batch = members.subList(from, Math.min(from + batchSize, members.size()));
+                for (Member member : batch) {
+                    pstmt.setString(1, member.getName());
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+                rs = pstmt.getGeneratedKeys();
+                for (Member member : batch) {
+                    if (!rs.next()) {
+                        throw new SQLException("id 조회 실패");
+                    }
+                    member.setId(rs.getLong(1));
+                }
+                rs.close();
+                rs = null;
+            }
+            return members;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        } finally {
+            close(conn, pstmt, rs);
+        }
+    }
     @Override
     public Optional<Member> findById(Long id) {
         String sql = "select * from member where id = ?";
@@ -44,14 +97,11 @@ public class JdbcMemberRepository implements MemberRepository {
         ResultSet rs = null;
         try {
             conn = getConnection();
-            pstmt = conn.prepareStatement(sql);
+            pstmt = prepareStatement(conn, sql, false);
             pstmt.setLong(1, id);
             rs = pstmt.executeQuery();
             if(rs.next()) {
-                Member member = new Member();
-                member.setId(rs.getLong("id"));
-                member.setName(rs.getString("name"));
-                return Optional.of(member);
+                return Optional.of(toMember(rs));
             } else {
                 return Optional.empty();
             }
@@ -69,14 +119,12 @@ public class JdbcMemberRepository implements MemberRepository {
         ResultSet rs = null;
         try {
             conn = getConnection();
-            pstmt = conn.prepareStatement(sql);
+            pstmt = prepareStatement(conn, sql, false);
+            pstmt.setFetchSize(fetchSize);
             rs = pstmt.executeQuery();
             List<Member> members = new ArrayList<>();
             while(rs.next()) {
-                Member member = new Member();
-                member.setId(rs.getLong("id"));
-                member.setName(rs.getString("name"));
-                members.add(member);
+                members.add(toMember(rs));
             }
             return members;
         } catch (Exception e) {
@@ -85,6 +133,46 @@ public class JdbcMemberRepository implements MemberRepository {
             close(conn, pstmt, rs);
         }
     }
+    /**
+     * 전체를 리스트로 만들지 않고 fetchSize 개씩 가져오며 한 행씩 넘긴다.
+     * 다 쓰면 반드시 닫아야 커넥션이 반납된다. (try-with-resources)
+     * PostgreSQL 처럼 autocommit 이 꺼져 있어야 fetchSize 를 지키는 드라이버도 있다.
+     */
+    public Stream<Member> streamAll() {
+        String sql = "select * from member";
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        try {
+            conn = getConnection();
+            // 결과를 여는 동안 같은 SQL 을 또 실행할 수 있으므로 캐시하지 않는다.
+            pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            pstmt.setFetchSize(fetchSize);
+            rs = pstmt.executeQuery();
+            Connection c = conn;
+            PreparedStatement p = pstmt;
+            ResultSet r = rs;
+            Spliterator<Member> spliterator = new Spliterators.AbstractSpliterator<>(
+                    Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super Member> action) {
+                    try {
+                        if (!r.next()) {
+                            return false;
+                        }
+                        action.accept(toMember(r));
+                        return true;
+                    } catch (SQLException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            };
+            return StreamSupport.stream(spliterator, false).onClose(() -> close(c, p, r));
+        } catch (Exception e) {
+            close(conn, pstmt, rs);
+            throw new IllegalStateException(e);
+        }
+    }
     @Override
     public Optional<Member> findByName(String name) {
         String sql = "select * from member where name = ?";
@@ -93,14 +181,11 @@ public class JdbcMemberRepository implements MemberRepository {
         ResultSet rs = null;
         try {
             conn = getConnection();
-            pstmt = conn.prepareStatement(sql);
+            pstmt = prepareStatement(conn, sql, false);
             pstmt.setString(1, name);
             rs = pstmt.executeQuery();
             if(rs.next()) {
-                Member member = new Member();
-                member.setId(rs.getLong("id"));
-                member.setName(rs.getString("name"));
-                return Optional.of(member);
+                return Optional.of(toMember(rs));
             }
             return Optional.empty();
         } catch (Exception e) {
@@ -109,9 +194,44 @@ public class JdbcMemberRepository implements MemberRepository {
             close(conn, pstmt, rs);
         }
     }
+    private Member toMember(ResultSet rs) throws SQLException {
+        Member member = new Member();
+        member.setId(rs.getLong("id"));
+        member.setName(rs.getString("name"));
+        return member;
+    }
     private Connection getConnection() {
         return DataSourceUtils.getConnection(dataSource);
     }
+    /**
+     * 트랜잭션 안에서는 같은 커넥션을 계속 쓰므로 SQL 별 PreparedStatement 를 트랜잭션이 끝날 때까지 재사용한다.
+     * 트랜잭션 밖에서는 예전처럼 호출마다 만들고 닫는다.
+     * 재사용은 한 트랜잭션 안에서 같은 SQL 을 여러 번 실행할 때(반복 save, 반복 조회)만 효과가 있다.
+     * join() 처럼 findByName(), save() 를 한 번씩 부르는 요청은 SQL 마다 한 번이라 적중하지 않는다.
+     * 트랜잭션을 넘어선 커넥션 단위 재사용은 드라이버의 statement 캐시가 맡는다. (application.properties 참고)
+     */
+    private PreparedStatement prepareStatement(Connection conn, String sql, boolean returnKeys) throws SQLException {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return newStatement(conn, sql, returnKeys);
+        }
+        StatementCache cache = (StatementCache) TransactionSynchronizationManager.getResource(this);
+        if (cache == null) {
+            cache = new StatementCache(conn);
+            TransactionSynchronizationManager.bindResource(this, cache);
+            TransactionSynchronizationManager.registerSynchronization(cache);
+        }
+        return cache.get(conn, sql, returnKeys);
+    }
+    private static PreparedStatement newStatement(Connection conn, String sql, boolean returnKeys) throws SQLException {
+        return returnKeys ? conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS) : conn.prepareStatement(sql);
+    }
+    private boolean isCached(PreparedStatement pstmt) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        StatementCache cache = (StatementCache) TransactionSynchronizationManager.getResource(this);
+        return cache != null && cache.contains(pstmt);
+    }
     private void close(Connection conn, PreparedStatement pstmt, ResultSet rs)
     {
         try {
@@ -122,7 +242,7 @@ public class JdbcMemberRepository implements MemberRepository {
             e.printStackTrace();
         }
         try {
-            if (pstmt != null) {
+            if (pstmt != null && !isCached(pstmt)) {
                 pstmt.close();
             }
         } catch (SQLException e) {
@@ -139,4 +259,38 @@ public class JdbcMemberRepository implements MemberRepository {
     private void close(Connection conn) throws SQLException {
         DataSourceUtils.releaseConnection(conn, dataSource);
     }
-}
\ No newline at end of file
+    private class StatementCache implements TransactionSynchronization {
+        private final Connection connection;
+        private final Map<String, PreparedStatement> statements = new HashMap<>();
+        StatementCache(Connection connection) {
+            this.connection = connection;
+        }
+        PreparedStatement get(Connection conn, String sql, boolean returnKeys) throws SQLException {
+            if (conn != connection) {
+                return newStatement(conn, sql, returnKeys);
+            }
+            String key = returnKeys ? sql + "#keys" : sql;
+            PreparedStatement pstmt = statements.get(key);
+            if (pstmt == null || pstmt.isClosed()) {
+                pstmt = newStatement(conn, sql, returnKeys);
+                statements.put(key, pstmt);
+            }
+            return pstmt;
+        }
+        boolean contains(PreparedStatement pstmt) {
+            return statements.containsValue(pstmt);
+        }
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(JdbcMemberRepository.this);
+            for (PreparedStatement pstmt : statements.values()) {
+                try {
+                    pstmt.close();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+            statements.clear();
+        }
+    }
+}
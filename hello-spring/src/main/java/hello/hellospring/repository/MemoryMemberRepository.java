@@ -4,14 +4,29 @@ import hello.hellospring.domain.Member;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * 여러 쓰레드가 함께 쓰는 메모리 저장소
+ * 이름 -> id 인덱스로 findByName 을 O(1) 로 찾고, 이름은 유니크 인덱스처럼 한 번만 저장된다.
+ * 인덱스 자리를 putIfAbsent 로 먼저 잡으므로 같은 이름으로 동시에 가입해도 한 명만 성공한다.
+ */
 public class MemoryMemberRepository implements MemberRepository{
-    private static Map<Long, Member> store = new HashMap<>();
-    private static long sequence = 0L;
+    private static final ConcurrentMap<Long, Member> store = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, Long> nameIndex = new ConcurrentHashMap<>();
+    private static final AtomicLong sequence = new AtomicLong();
+
     @Override
     public Member save(Member member) {
-        member.setId(++sequence);
-        store.put(member.getId(), member);
+        long id = sequence.incrementAndGet();
+        String name = member.getName();
+        if (name != null && nameIndex.putIfAbsent(name, id) != null) {
+            throw new IllegalStateException("이미 존재하는 회원입니다.");
+        }
+        member.setId(id);
+        store.put(id, member);
         return member;
     }
 
@@ -22,9 +37,12 @@ public class MemoryMemberRepository implements MemberRepository{
 
     @Override
     public Optional<Member> findByName(String name) {
-        return store.values().stream()
-                .filter(member -> member.getName().equals(name))
-                .findAny();
+        if (name == null) {
+            return Optional.empty();
+        }
+        Long id = nameIndex.get(name);
+        // 인덱스에는 들어갔지만 아직 store 에 넣기 전이면 없는 것으로 본다.
+        return id == null ? Optional.empty() : Optional.ofNullable(store.get(id));
     }
 
     @Override
@@ -34,5 +52,6 @@ public class MemoryMemberRepository implements MemberRepository{
 
     public void clearStore(){
         store.clear();
+        nameIndex.clear();
     }
 }
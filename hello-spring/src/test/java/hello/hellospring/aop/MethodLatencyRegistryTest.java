@@ -0,0 +1,68 @@
+package hello.hellospring.aop;
+
+import hello.hellospring.domain.Member;
+import hello.hellospring.service.MemberService;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MethodLatencyRegistryTest {
+    MethodLatencyRegistry registry = new MethodLatencyRegistry();
+
+    @Test
+    public void percentiles() throws NoSuchMethodException {
+        Method join = MemberService.class.getMethod("join", Member.class);
+        for (long micros = 1; micros <= 10_000; micros++) {
+            registry.record(join, TimeUnit.MICROSECONDS.toNanos(micros));
+        }
+
+        LatencySnapshot snapshot = registry.snapshots().get("hello.hellospring.service.MemberService.join(hello.hellospring.domain.Member)");
+        assertThat(snapshot.getCount()).isEqualTo(10_000);
+        assertThat(snapshot.getP50()).isCloseTo(5_000, within(50L));
+        assertThat(snapshot.getP99()).isCloseTo(9_900, within(99L));
+        assertThat(snapshot.getMax()).isEqualTo(10_000);
+    }
+
+    @Test
+    public void concurrentRecord() throws Exception {
+        Method findMembers = MemberService.class.getMethod("findMembers");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < 100_000; j++) {
+                    registry.record(findMembers, 1_000);
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertThat(registry.snapshots().get("hello.hellospring.service.MemberService.findMembers()").getCount()).isEqualTo(800_000);
+    }
+
+    @Test
+    public void stripesAllocatedOnFirstRecord() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertThat(histogram.allocatedStripeCount()).isZero();
+
+        histogram.record(1_000);
+        histogram.record(2_000);
+        assertThat(histogram.allocatedStripeCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void overloads() throws NoSuchMethodException {
+        registry.record(String.class.getMethod("valueOf", int.class), 1_000);
+        registry.record(String.class.getMethod("valueOf", long.class), 1_000);
+        registry.record(String.class.getMethod("valueOf", long.class), 1_000);
+
+        assertThat(registry.snapshots()).hasSize(2);
+        assertThat(registry.snapshots().get("java.lang.String.valueOf(int)").getCount()).isEqualTo(1);
+        assertThat(registry.snapshots().get("java.lang.String.valueOf(long)").getCount()).isEqualTo(2);
+    }
+}
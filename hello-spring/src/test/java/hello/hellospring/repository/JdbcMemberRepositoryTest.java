@@ -0,0 +1,79 @@
+package hello.hellospring.repository;
+
+import hello.hellospring.domain.Member;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class JdbcMemberRepositoryTest {
+    DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:jdbc-member;DB_CLOSE_DELAY=-1", "sa", "");
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    JdbcMemberRepository repository = new JdbcMemberRepository(dataSource, 3, 2);
+
+    @BeforeEach
+    public void beforeEach(){
+        jdbcTemplate.execute("create table member(id bigint generated by default as identity, name varchar(255), primary key(id))");
+    }
+
+    @AfterEach
+    public void afterEach(){
+        jdbcTemplate.execute("drop table member");
+    }
+
+    @Test
+    public void saveAll(){
+        List<Member> members = members(10);
+
+        repository.saveAll(members);
+
+        // 배치(3개) 경계를 넘어도 생성된 id 가 순서대로 채워진다.
+        for (Member member : members) {
+            assertThat(repository.findById(member.getId()).get().getName()).isEqualTo(member.getName());
+        }
+        assertThat(repository.findAll()).hasSize(10);
+    }
+
+    @Test
+    public void streamAll(){
+        repository.saveAll(members(5));
+
+        try (Stream<Member> stream = repository.streamAll()) {
+            assertThat(stream.map(Member::getName)).containsExactly("member0", "member1", "member2", "member3", "member4");
+        }
+    }
+
+    @Test
+    public void reuseStatementInTransaction(){
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Member member : members(5)) {
+                repository.save(member);
+                assertThat(repository.findByName(member.getName()).get().getId()).isEqualTo(member.getId());
+            }
+            repository.saveAll(members(4));
+        });
+
+        assertThat(repository.findAll()).hasSize(9);
+    }
+
+    private List<Member> members(int count) {
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Member member = new Member();
+            member.setName("member" + i);
+            members.add(member);
+        }
+        return members;
+    }
+}
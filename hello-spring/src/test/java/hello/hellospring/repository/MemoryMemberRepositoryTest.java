@@ -6,6 +6,11 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -58,4 +63,41 @@ class MemoryMemberRepositoryTest {
         assertThat(result.size()).isEqualTo(2);
     }
 
+    @Test
+    public void duplicateNameIsRejected(){
+        Member member1 = new Member();
+        member1.setName("spring");
+        repository.save(member1);
+
+        Member member2 = new Member();
+        member2.setName("spring");
+        assertThatThrownBy(() -> repository.save(member2)).isInstanceOf(IllegalStateException.class);
+        assertThat(repository.findByName("spring").get()).isEqualTo(member1);
+    }
+
+    @Test
+    public void concurrentSaveSameName() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger saved = new AtomicInteger();
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                Member member = new Member();
+                member.setName("spring");
+                try {
+                    start.await();
+                    repository.save(member);
+                    saved.incrementAndGet();
+                } catch (IllegalStateException | InterruptedException e) {
+                    // 중복 가입
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertThat(saved.get()).isEqualTo(1);
+        assertThat(repository.findAll()).hasSize(1);
+    }
 }
@@ -0,0 +1,135 @@
+package hello.proxy.benchmark;
+
+import hello.proxy.app.v1.OrderRepositoryV1;
+import hello.proxy.app.v2.OrderRepositoryV2;
+import hello.proxy.config.v1_proxy.concrete_proxy.OrderRepositoryConcreteProxy;
+import hello.proxy.config.v1_proxy.interface_proxy.OrderRepositoryInterfaceProxy;
+import hello.proxy.config.v2_dynamicproxy.handler.LogTraceBasicHandler;
+import hello.proxy.config.v2_dynamicproxy.handler.LogTraceFilterHandler;
+import hello.proxy.config.v2_dynamicproxy.handler.LogTraceMethodHandleHandler;
+import hello.proxy.config.v3_proxyfactory.advice.LogTraceAdvice;
+import hello.proxy.config.v6_aop.aspect.LogTraceAspect;
+import hello.proxy.trace.TraceMethodCache;
+import hello.proxy.trace.logtrace.LogTrace;
+import hello.proxy.trace.logtrace.ThreadLocalLogTrace;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.NameMatchMethodPointcut;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * 프록시 방식별로 OrderRepository.save() 한 번을 감싸는 비용
+ * 실제 리포지토리는 sleep 하므로 아무 일도 하지 않는 target 을 사용한다.
+ */
+@State(Scope.Benchmark)
+public class ProxyBenchmark {
+    private static final String[] PATTERNS = {"request*", "order*", "save*"};
+
+    private OrderRepositoryV1 noProxy;
+    private OrderRepositoryV1 interfaceProxy;
+    private OrderRepositoryV2 concreteProxy;
+    private OrderRepositoryV1 jdkDynamicBasic;
+    private OrderRepositoryV1 jdkDynamicFilter;
+    private OrderRepositoryV1 jdkDynamicMethodHandle;
+    private OrderRepositoryV1 proxyFactoryJdk;
+    private OrderRepositoryV2 proxyFactoryCglib;
+    private OrderRepositoryV1 aspect;
+
+    @Setup
+    public void setup() {
+        LogTrace logTrace = new ThreadLocalLogTrace();
+        OrderRepositoryV1 target = new NoOpOrderRepositoryV1();
+        OrderRepositoryV2 concreteTarget = new NoOpOrderRepositoryV2();
+
+        noProxy = target;
+        interfaceProxy = new OrderRepositoryInterfaceProxy(target, logTrace);
+        concreteProxy = new OrderRepositoryConcreteProxy(concreteTarget, logTrace);
+        jdkDynamicBasic = (OrderRepositoryV1) Proxy.newProxyInstance(OrderRepositoryV1.class.getClassLoader(),
+                new Class[]{OrderRepositoryV1.class}, new LogTraceBasicHandler(target, logTrace));
+        jdkDynamicFilter = (OrderRepositoryV1) Proxy.newProxyInstance(OrderRepositoryV1.class.getClassLoader(),
+                new Class[]{OrderRepositoryV1.class}, new LogTraceFilterHandler(target, logTrace, PATTERNS));
+        jdkDynamicMethodHandle = (OrderRepositoryV1) Proxy.newProxyInstance(OrderRepositoryV1.class.getClassLoader(),
+                new Class[]{OrderRepositoryV1.class}, new LogTraceMethodHandleHandler(target, logTrace, new TraceMethodCache(PATTERNS)));
+
+        ProxyFactory jdkFactory = new ProxyFactory(target);
+        jdkFactory.addAdvisor(advisor(logTrace));
+        proxyFactoryJdk = (OrderRepositoryV1) jdkFactory.getProxy();
+
+        ProxyFactory cglibFactory = new ProxyFactory(concreteTarget);
+        cglibFactory.addAdvisor(advisor(logTrace));
+        proxyFactoryCglib = (OrderRepositoryV2) cglibFactory.getProxy();
+
+        AspectJProxyFactory aspectFactory = new AspectJProxyFactory(target);
+        aspectFactory.addAspect(new LogTraceAspect(logTrace));
+        aspect = aspectFactory.getProxy();
+    }
+
+    private DefaultPointcutAdvisor advisor(LogTrace logTrace) {
+        NameMatchMethodPointcut pointcut = new NameMatchMethodPointcut();
+        pointcut.setMappedNames(PATTERNS);
+        return new DefaultPointcutAdvisor(pointcut, new LogTraceAdvice(logTrace));
+    }
+
+    @Benchmark
+    public void noProxy() {
+        noProxy.save("itemA");
+    }
+
+    @Benchmark
+    public void interfaceProxy() {
+        interfaceProxy.save("itemA");
+    }
+
+    @Benchmark
+    public void concreteProxy() {
+        concreteProxy.save("itemA");
+    }
+
+    @Benchmark
+    public void jdkDynamicBasic() {
+        jdkDynamicBasic.save("itemA");
+    }
+
+    @Benchmark
+    public void jdkDynamicFilter() {
+        jdkDynamicFilter.save("itemA");
+    }
+
+    @Benchmark
+    public void jdkDynamicMethodHandle() {
+        jdkDynamicMethodHandle.save("itemA");
+    }
+
+    @Benchmark
+    public void proxyFactoryJdk() {
+        proxyFactoryJdk.save("itemA");
+    }
+
+    @Benchmark
+    public void proxyFactoryCglib() {
+        proxyFactoryCglib.save("itemA");
+    }
+
+    @Benchmark
+    public void aspect() {
+        aspect.save("itemA");
+    }
+
+    static class NoOpOrderRepositoryV1 implements OrderRepositoryV1 {
+        @Override
+        public void save(String itemId) {
+        }
+    }
+
+    static class NoOpOrderRepositoryV2 extends OrderRepositoryV2 {
+        @Override
+        public void save(String itemId) {
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package hello.proxy.benchmark;
+
+import hello.proxy.app.v1.OrderRepositoryV1;
+import hello.proxy.trace.TraceMethod;
+import hello.proxy.trace.TraceMethodCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.util.PatternMatchUtils;
+
+import java.lang.reflect.Method;
+
+/**
+ * LogTraceFilterHandler 가 호출마다 하던 일(패턴 매칭 + 문자열 조립)과 TraceMethodCache 조회 비교
+ * 프록시 전체 비용은 ProxyBenchmark 에서 본다.
+ */
+@State(Scope.Benchmark)
+public class TraceMethodCacheBenchmark {
+    private static final String[] PATTERNS = {"request*", "order*", "save*"};
+
+    private final TraceMethodCache cache = new TraceMethodCache(PATTERNS);
+    private Method method;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        method = OrderRepositoryV1.class.getMethod("save", String.class);
+        cache.get(method);
+    }
+
+    @Benchmark
+    public String perCall() {
+        if (!PatternMatchUtils.simpleMatch(PATTERNS, method.getName())) {
+            return null;
+        }
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName() + "()";
+    }
+
+    @Benchmark
+    public String cached() {
+        TraceMethod traceMethod = cache.get(method);
+        return traceMethod.isTraced() ? traceMethod.getMessage() : null;
+    }
+}
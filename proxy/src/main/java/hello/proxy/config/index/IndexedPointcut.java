@@ -0,0 +1,52 @@
+package hello.proxy.config.index;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.MethodMatcher;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.PointcutAdvisor;
+import org.springframework.aop.support.AopUtils;
+
+/**
+ * ClassFilter 를 PointcutIndex 조회로 바꾼다.
+ * ClassFilter 가 이미 AopUtils.canApply(delegate, clazz) 전체 결과를 돌려주므로,
+ * 대상이 아닌 클래스는 AopUtils.canApply() 가 ClassFilter 에서 바로 false 를 받아 메서드를 하나씩 매칭하지 않는다.
+ * key 는 advisor 마다 달라야 한다. (로그에 쓰인다)
+ */
+public class IndexedPointcut implements Pointcut {
+    private final Pointcut delegate;
+    private final ClassFilter classFilter;
+
+    public IndexedPointcut(String key, Pointcut delegate, PointcutIndex pointcutIndex) {
+        this.delegate = delegate;
+        ClassValue<Boolean> matched = pointcutIndex.register(key, delegate);
+        this.classFilter = clazz -> {
+            pointcutIndex.lookup(key);
+            return matched.get(clazz);
+        };
+    }
+
+    @Override
+    public ClassFilter getClassFilter() {
+        return classFilter;
+    }
+
+    @Override
+    public MethodMatcher getMethodMatcher() {
+        return delegate.getMethodMatcher();
+    }
+
+    /**
+     * AopUtils.canApply(advisor, targetClass) 와 같은 결과를 돌려준다.
+     * IndexedPointcut 이면 ClassFilter 결과가 곧 답이므로, AopUtils.canApply() 처럼 메서드를 다시 훑지 않는다.
+     */
+    public static boolean canApply(Advisor advisor, Class<?> targetClass) {
+        if (advisor instanceof PointcutAdvisor) {
+            Pointcut pointcut = ((PointcutAdvisor) advisor).getPointcut();
+            if (pointcut instanceof IndexedPointcut) {
+                return pointcut.getClassFilter().matches(targetClass);
+            }
+        }
+        return AopUtils.canApply(advisor, targetClass);
+    }
+}
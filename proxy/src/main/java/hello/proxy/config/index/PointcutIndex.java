@@ -0,0 +1,79 @@
+package hello.proxy.config.index;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * advisor(key) 별로 "이 클래스에 적용될 수 있는가" 를 Class 에 붙여(ClassValue) 한 번만 계산한다.
+ * Class 자체가 key 이므로 디렉토리, jar, fat-jar 어디서 읽은 클래스든 같게 동작하고,
+ * 클래스 로더가 내려가면 결과도 같이 사라진다.
+ * 프로세스 안의 메모일 뿐이다. 빌드 시점(annotation processor)이나 디스크에 저장되는 인덱스는 없으므로
+ * 첫 기동에도 모든 후보 클래스를 한 번씩 계산한다. 같은 클래스를 여러 번 묻는 경우만 줄어든다.
+ * 컨텍스트가 뜨면 key 별 조회 수, 실제 계산 수와 계산에 쓴 시간을 로그로 남긴다. (측정값만 남긴다)
+ */
+@Slf4j
+public class PointcutIndex implements ApplicationListener<ContextRefreshedEvent> {
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * key 마다 한 번 만든다. 돌려받은 ClassValue 가 AopUtils.canApply(pointcut, targetClass) 결과를 기억한다.
+     */
+    ClassValue<Boolean> register(String key, Pointcut pointcut) {
+        Stats keyStats = new Stats();
+        if (stats.putIfAbsent(key, keyStats) != null) {
+            throw new IllegalArgumentException("이미 등록된 pointcut key 입니다. key=" + key);
+        }
+        return new ClassValue<>() {
+            @Override
+            protected Boolean computeValue(Class<?> targetClass) {
+                long startNs = System.nanoTime();
+                boolean matched = AopUtils.canApply(pointcut, targetClass);
+                keyStats.evaluationNanos.add(System.nanoTime() - startNs);
+                keyStats.evaluatedCount.increment();
+                return matched;
+            }
+        };
+    }
+
+    void lookup(String key) {
+        stats.get(key).lookupCount.increment();
+    }
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        for (Map.Entry<String, Stats> entry : stats.entrySet()) {
+            Stats keyStats = entry.getValue();
+            long evaluated = keyStats.evaluatedCount.sum();
+            long nanos = keyStats.evaluationNanos.sum();
+            long lookups = keyStats.lookupCount.sum();
+            log.info("pointcut index key={} lookups={} evaluated={} evaluationTime={}ms",
+                    entry.getKey(), lookups, evaluated, toMillis(nanos));
+        }
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    public long getLookupCount() {
+        return stats.values().stream().mapToLong(s -> s.lookupCount.sum()).sum();
+    }
+
+    public long getEvaluatedCount() {
+        return stats.values().stream().mapToLong(s -> s.evaluatedCount.sum()).sum();
+    }
+
+    private static class Stats {
+        private final LongAdder lookupCount = new LongAdder();
+        private final LongAdder evaluatedCount = new LongAdder();
+        private final LongAdder evaluationNanos = new LongAdder();
+    }
+}
@@ -0,0 +1,12 @@
+package hello.proxy.config.index;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PointcutIndexConfig {
+    @Bean
+    public PointcutIndex pointcutIndex() {
+        return new PointcutIndex();
+    }
+}
@@ -0,0 +1,13 @@
+package hello.proxy.config.lazy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class LazyProxyConfig {
+    @Bean
+    public LazyProxyCreator lazyProxyCreator(@Value("${proxy.lazy:false}") boolean lazy) {
+        return new LazyProxyCreator(lazy);
+    }
+}
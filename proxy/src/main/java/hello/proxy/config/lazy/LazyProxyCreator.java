@@ -0,0 +1,56 @@
+package hello.proxy.config.lazy;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.util.ClassUtils;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * lazy 가 켜져 있으면 빈마다 프록시 하나만 만들고, target 은 LazyTargetSource 로 처음 호출될 때 만든다.
+ * 프록시 클래스 생성(JDK, CGLIB)은 그대로이고, 미루는 것은 target 생성과 초기화다.
+ */
+@Slf4j
+public class LazyProxyCreator {
+    private final boolean lazy;
+
+    private final LongAdder createdCount = new LongAdder();
+    private final LongAdder materializedCount = new LongAdder();
+
+    public LazyProxyCreator(boolean lazy) {
+        this.lazy = lazy;
+    }
+
+    public <T> T createProxy(Class<? extends T> targetClass, Supplier<? extends T> target, Advisor advisor) {
+        createdCount.increment();
+        ProxyFactory factory;
+        if (lazy) {
+            factory = new ProxyFactory();
+            factory.setTargetSource(new LazyTargetSource(targetClass, target, this));
+            // new ProxyFactory(target) 와 같게 인터페이스가 있으면 JDK 동적 프록시, 없으면 CGLIB
+            factory.setInterfaces(ClassUtils.getAllInterfacesForClass(targetClass));
+        } else {
+            factory = new ProxyFactory(target.get());
+            materializedCount.increment();
+        }
+        factory.addAdvisor(advisor);
+        @SuppressWarnings("unchecked")
+        T proxy = (T) factory.getProxy();
+        return proxy;
+    }
+
+    void materialized(Class<?> targetClass) {
+        materializedCount.increment();
+        log.info("materialize target={} materialized={}/{}", targetClass, getMaterializedCount(), getCreatedCount());
+    }
+
+    public long getCreatedCount() {
+        return createdCount.sum();
+    }
+
+    public long getMaterializedCount() {
+        return materializedCount.sum();
+    }
+}
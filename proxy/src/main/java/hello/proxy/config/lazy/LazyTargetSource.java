@@ -0,0 +1,58 @@
+package hello.proxy.config.lazy;
+
+import org.springframework.aop.TargetSource;
+
+import java.util.function.Supplier;
+
+/**
+ * 프록시는 바로 만들고, 프록시 뒤의 target 은 처음 호출될 때 supplier 로 한 번만 만든다.
+ * (스프링의 LazyInitTargetSource 와 같은 방식이지만 빈 이름 대신 Supplier 를 받는다)
+ */
+public class LazyTargetSource implements TargetSource {
+    private final Class<?> targetClass;
+    private final Supplier<?> supplier;
+    private final LazyProxyCreator creator;
+
+    private volatile Object target;
+
+    LazyTargetSource(Class<?> targetClass, Supplier<?> supplier, LazyProxyCreator creator) {
+        this.targetClass = targetClass;
+        this.supplier = supplier;
+        this.creator = creator;
+    }
+
+    @Override
+    public Class<?> getTargetClass() {
+        return targetClass;
+    }
+
+    // false 여야 프록시가 호출마다 getTarget() 을 부른다.
+    @Override
+    public boolean isStatic() {
+        return false;
+    }
+
+    @Override
+    public Object getTarget() {
+        Object result = target;
+        if (result == null) {
+            synchronized (this) {
+                result = target;
+                if (result == null) {
+                    result = supplier.get();
+                    target = result;
+                    creator.materialized(targetClass);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void releaseTarget(Object target) {
+    }
+
+    public boolean isMaterialized() {
+        return target != null;
+    }
+}
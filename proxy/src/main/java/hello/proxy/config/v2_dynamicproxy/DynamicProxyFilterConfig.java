@@ -3,21 +3,31 @@ package hello.proxy.config.v2_dynamicproxy;
 import hello.proxy.app.v1.*;
 import hello.proxy.config.v2_dynamicproxy.handler.LogTraceBasicHandler;
 import hello.proxy.config.v2_dynamicproxy.handler.LogTraceFilterHandler;
+import hello.proxy.config.v2_dynamicproxy.handler.LogTraceMethodHandleHandler;
+import hello.proxy.trace.TraceMethodCache;
 import hello.proxy.trace.logtrace.LogTrace;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Proxy;
 
 @Configuration
 public class DynamicProxyFilterConfig {
     private static final String[] PATTERNS = {"request*", "order*", "save*"};
+    private final TraceMethodCache traceMethodCache = new TraceMethodCache(PATTERNS);
+
+    // reflection: Method.invoke(), method-handle: MethodHandle
+    @Value("${proxy.dynamic.invoker:reflection}")
+    private String invoker;
+
     @Bean
     public OrderControllerV1 orderController(LogTrace logTrace){
         OrderControllerV1 orderController = new OrderControllerV1Impl(orderService(logTrace));
         OrderControllerV1 proxy = (OrderControllerV1) Proxy.newProxyInstance(OrderControllerV1.class.getClassLoader(),
                 new Class[]{OrderControllerV1.class},
-                new LogTraceFilterHandler(orderController, logTrace, PATTERNS));
+                handler(orderController, logTrace));
         return proxy;
     }
 
@@ -26,7 +36,7 @@ public class DynamicProxyFilterConfig {
         OrderServiceV1 orderService = new OrderServiceV1Impl(orderRepository(logTrace));
         OrderServiceV1 proxy = (OrderServiceV1) Proxy.newProxyInstance(OrderServiceV1.class.getClassLoader(),
                 new Class[]{OrderServiceV1.class},
-                new LogTraceFilterHandler(orderService, logTrace, PATTERNS));
+                handler(orderService, logTrace));
         return proxy;
     }
     @Bean
@@ -35,8 +45,15 @@ public class DynamicProxyFilterConfig {
 
         OrderRepositoryV1 proxy = (OrderRepositoryV1) Proxy.newProxyInstance(OrderRepositoryV1.class.getClassLoader(),
                 new Class[]{OrderRepositoryV1.class},
-                new LogTraceFilterHandler(orderRepository, logTrace, PATTERNS));
+                handler(orderRepository, logTrace));
 
         return proxy;
     }
+
+    private InvocationHandler handler(Object target, LogTrace logTrace) {
+        if ("method-handle".equals(invoker)) {
+            return new LogTraceMethodHandleHandler(target, logTrace, traceMethodCache);
+        }
+        return new LogTraceFilterHandler(target, logTrace, traceMethodCache);
+    }
 }
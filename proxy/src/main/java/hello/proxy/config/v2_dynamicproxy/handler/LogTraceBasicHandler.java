@@ -1,5 +1,6 @@
 package hello.proxy.config.v2_dynamicproxy.handler;
 
+import hello.proxy.trace.TraceMethodCache;
 import hello.proxy.trace.TraceStatus;
 import hello.proxy.trace.logtrace.LogTrace;
 
@@ -9,10 +10,16 @@ import java.lang.reflect.Method;
 public class LogTraceBasicHandler implements InvocationHandler {
     private final Object target;
     private final LogTrace logTrace;
+    private final TraceMethodCache traceMethodCache;
 
     public LogTraceBasicHandler(Object target, LogTrace logTrace) {
+        this(target, logTrace, new TraceMethodCache());
+    }
+
+    public LogTraceBasicHandler(Object target, LogTrace logTrace, TraceMethodCache traceMethodCache) {
         this.target = target;
         this.logTrace = logTrace;
+        this.traceMethodCache = traceMethodCache;
     }
 
     @Override
@@ -20,7 +27,7 @@ public class LogTraceBasicHandler implements InvocationHandler {
         TraceStatus status = null;
         try {
 
-            String message = method.getDeclaringClass().getSimpleName() + "." + method.getName() + "()";
+            String message = traceMethodCache.get(method).getMessage();
             status = logTrace.begin(message);
 
             // 로직 호출
@@ -1,8 +1,9 @@
 package hello.proxy.config.v2_dynamicproxy.handler;
 
+import hello.proxy.trace.TraceMethod;
+import hello.proxy.trace.TraceMethodCache;
 import hello.proxy.trace.TraceStatus;
 import hello.proxy.trace.logtrace.LogTrace;
-import org.springframework.util.PatternMatchUtils;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
@@ -10,28 +11,34 @@ import java.lang.reflect.Method;
 public class LogTraceFilterHandler implements InvocationHandler {
     private final Object target;
     private final LogTrace logTrace;
-    private final String[] patterns;
+    private final TraceMethodCache traceMethodCache;
 
     public LogTraceFilterHandler(Object target, LogTrace logTrace, String[] patterns) {
+        this(target, logTrace, new TraceMethodCache(patterns));
+    }
+
+    /**
+     * traceMethodCache 는 패턴을 넣어서 만든 것이어야 한다.
+     */
+    public LogTraceFilterHandler(Object target, LogTrace logTrace, TraceMethodCache traceMethodCache) {
         this.target = target;
         this.logTrace = logTrace;
-        this.patterns = patterns;
+        this.traceMethodCache = traceMethodCache;
     }
 
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
 
-        // 메서드 이름 필터
-        String methodName = method.getName();
-        if(!PatternMatchUtils.simpleMatch(patterns, methodName)){
+        // 메서드 이름 필터, 매칭 결과는 메서드별로 캐시된다.
+        TraceMethod traceMethod = traceMethodCache.get(method);
+        if(!traceMethod.isTraced()){
             return method.invoke(target, args);
         }
 
         TraceStatus status = null;
         try {
 
-            String message = method.getDeclaringClass().getSimpleName() + "." + method.getName() + "()";
-            status = logTrace.begin(message);
+            status = logTrace.begin(traceMethod.getMessage());
 
             // 로직 호출
             Object result = method.invoke(target, args);
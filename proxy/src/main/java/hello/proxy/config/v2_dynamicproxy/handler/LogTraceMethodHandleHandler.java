@@ -0,0 +1,47 @@
+package hello.proxy.config.v2_dynamicproxy.handler;
+
+import hello.proxy.trace.TraceMethod;
+import hello.proxy.trace.TraceMethodCache;
+import hello.proxy.trace.TraceStatus;
+import hello.proxy.trace.logtrace.LogTrace;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+
+/**
+ * LogTraceBasicHandler, LogTraceFilterHandler 와 같지만 target 을 MethodHandle 로 호출한다.
+ * target 이 던진 예외가 그대로 올라오므로 logTrace.exception() 에도, 호출한 쪽에도 원래 예외가 전달된다.
+ * 패턴을 넣은 traceMethodCache 를 주면 Filter, 아니면 Basic 과 같다.
+ */
+public class LogTraceMethodHandleHandler implements InvocationHandler {
+    private final MethodHandleInvoker invoker;
+    private final LogTrace logTrace;
+    private final TraceMethodCache traceMethodCache;
+
+    public LogTraceMethodHandleHandler(Object target, LogTrace logTrace, TraceMethodCache traceMethodCache) {
+        this.invoker = new MethodHandleInvoker(target);
+        this.logTrace = logTrace;
+        this.traceMethodCache = traceMethodCache;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        TraceMethod traceMethod = traceMethodCache.get(method);
+        if (!traceMethod.isTraced()) {
+            return invoker.invoke(method, args);
+        }
+
+        TraceStatus status = null;
+        try {
+            status = logTrace.begin(traceMethod.getMessage());
+
+            // 로직 호출
+            Object result = invoker.invoke(method, args);
+            logTrace.end(status);
+            return result;
+        } catch (Exception e) {
+            logTrace.exception(status, e);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package hello.proxy.config.v2_dynamicproxy.handler;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * target 에 묶은 MethodHandle 을 메서드별로 한 번만 만들어 두고 호출한다.
+ * Method.invoke() 와 달리 호출마다 접근 검사를 하지 않고, 예외를 InvocationTargetException 으로 감싸지 않는다.
+ */
+public class MethodHandleInvoker {
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object[].class);
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private final Object target;
+    private final Map<Method, MethodHandle> handles = new ConcurrentHashMap<>();
+
+    public MethodHandleInvoker(Object target) {
+        this.target = target;
+    }
+
+    public Object invoke(Method method, Object[] args) throws Throwable {
+        MethodHandle handle = handles.get(method);
+        if (handle == null) {
+            handle = handles.computeIfAbsent(method, this::bind);
+        }
+        // JDK 동적 프록시는 인자가 없으면 null 을 넘긴다.
+        return (Object) handle.invokeExact(args == null ? NO_ARGS : args);
+    }
+
+    // (Object[]) -> Object 형태로 맞춰서 invokeExact 로 호출할 수 있게 한다.
+    private MethodHandle bind(Method method) {
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+            // public 이 아닌 인터페이스 등
+            method.setAccessible(true);
+            try {
+                handle = MethodHandles.lookup().unreflect(method);
+            } catch (IllegalAccessException ex) {
+                throw new IllegalStateException("MethodHandle 을 만들 수 없습니다. method=" + method, ex);
+            }
+        }
+        return handle.bindTo(target)
+                .asSpreader(Object[].class, method.getParameterCount())
+                .asType(INVOKER_TYPE);
+    }
+}
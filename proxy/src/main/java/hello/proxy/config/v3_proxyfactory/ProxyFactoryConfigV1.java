@@ -1,51 +1,53 @@
 package hello.proxy.config.v3_proxyfactory;
 
 import hello.proxy.app.v1.*;
+import hello.proxy.config.lazy.LazyProxyConfig;
+import hello.proxy.config.lazy.LazyProxyCreator;
 import hello.proxy.config.v3_proxyfactory.advice.LogTraceAdvice;
+import hello.proxy.trace.TraceMethodCache;
 import hello.proxy.trace.logtrace.LogTrace;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.aop.Advisor;
 import org.springframework.aop.Pointcut;
-import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.aop.support.DefaultPointcutAdvisor;
 import org.springframework.aop.support.NameMatchMethodPointcut;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 
 @Slf4j
 @Configuration
+@Import(LazyProxyConfig.class)
 public class ProxyFactoryConfigV1 {
+    private final TraceMethodCache traceMethodCache = new TraceMethodCache();
+    private final LazyProxyCreator lazyProxyCreator;
+
+    // proxy.lazy=true 면 target 은 처음 호출될 때 만든다.
+    public ProxyFactoryConfigV1(LazyProxyCreator lazyProxyCreator) {
+        this.lazyProxyCreator = lazyProxyCreator;
+    }
+
     @Bean
     public OrderControllerV1 orderControllerV1(LogTrace logTrace){
-        OrderControllerV1 orderController = new OrderControllerV1Impl(orderService(logTrace));
+        OrderServiceV1 orderService = orderService(logTrace);
+        OrderControllerV1 proxy = lazyProxyCreator.createProxy(OrderControllerV1Impl.class, () -> new OrderControllerV1Impl(orderService), getAdvisor(logTrace));
 
-        ProxyFactory factory = new ProxyFactory(orderController);
-        factory.addAdvisor(getAdvisor(logTrace));
-        OrderControllerV1 proxy = (OrderControllerV1) factory.getProxy();
-
-        log.info("ProxyFactory proxy={}, target={}", proxy.getClass(), orderController.getClass());
+        log.info("ProxyFactory proxy={}, target={}", proxy.getClass(), OrderControllerV1Impl.class);
         return proxy;
     }
     @Bean
     public OrderServiceV1 orderService(LogTrace logTrace){
-        OrderServiceV1 orderService = new OrderServiceV1Impl(orderRepository(logTrace));
-
-        ProxyFactory factory = new ProxyFactory(orderService);
-        factory.addAdvisor(getAdvisor(logTrace));
-        OrderServiceV1 proxy = (OrderServiceV1) factory.getProxy();
+        OrderRepositoryV1 orderRepository = orderRepository(logTrace);
+        OrderServiceV1 proxy = lazyProxyCreator.createProxy(OrderServiceV1Impl.class, () -> new OrderServiceV1Impl(orderRepository), getAdvisor(logTrace));
 
-        log.info("ProxyFactory proxy={}, target={}", proxy.getClass(), orderService.getClass());
+        log.info("ProxyFactory proxy={}, target={}", proxy.getClass(), OrderServiceV1Impl.class);
         return proxy;
     }
     @Bean
     public OrderRepositoryV1 orderRepository(LogTrace logTrace) {
-        OrderRepositoryV1 orderRepository = new OrderRepositoryV1Impl();
-
-        ProxyFactory factory = new ProxyFactory(orderRepository);
-        factory.addAdvisor(getAdvisor(logTrace));
-        OrderRepositoryV1 proxy = (OrderRepositoryV1) factory.getProxy();
+        OrderRepositoryV1 proxy = lazyProxyCreator.createProxy(OrderRepositoryV1Impl.class, OrderRepositoryV1Impl::new, getAdvisor(logTrace));
 
-        log.info("ProxyFactory proxy={}, target={}", proxy.getClass(), orderRepository.getClass());
+        log.info("ProxyFactory proxy={}, target={}", proxy.getClass(), OrderRepositoryV1Impl.class);
         return proxy;
     }
 
@@ -54,7 +56,7 @@ public class ProxyFactoryConfigV1 {
         NameMatchMethodPointcut pointcut = new NameMatchMethodPointcut();
         pointcut.setMappedNames("request*", "order*", "save*");
         // advice
-        LogTraceAdvice advice = new LogTraceAdvice(logTrace);
+        LogTraceAdvice advice = new LogTraceAdvice(logTrace, traceMethodCache);
         return new DefaultPointcutAdvisor(pointcut, advice);
     }
 }
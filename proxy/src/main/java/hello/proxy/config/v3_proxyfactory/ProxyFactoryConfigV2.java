@@ -3,50 +3,52 @@ package hello.proxy.config.v3_proxyfactory;
 import hello.proxy.app.v2.OrderControllerV2;
 import hello.proxy.app.v2.OrderRepositoryV2;
 import hello.proxy.app.v2.OrderServiceV2;
+import hello.proxy.config.lazy.LazyProxyConfig;
+import hello.proxy.config.lazy.LazyProxyCreator;
 import hello.proxy.config.v3_proxyfactory.advice.LogTraceAdvice;
+import hello.proxy.trace.TraceMethodCache;
 import hello.proxy.trace.logtrace.LogTrace;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.aop.Advisor;
-import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.aop.support.DefaultPointcutAdvisor;
 import org.springframework.aop.support.NameMatchMethodPointcut;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 
 @Slf4j
 @Configuration
+@Import(LazyProxyConfig.class)
 public class ProxyFactoryConfigV2 {
+    private final TraceMethodCache traceMethodCache = new TraceMethodCache();
+    private final LazyProxyCreator lazyProxyCreator;
+
+    // proxy.lazy=true 면 target 은 처음 호출될 때 만든다.
+    public ProxyFactoryConfigV2(LazyProxyCreator lazyProxyCreator) {
+        this.lazyProxyCreator = lazyProxyCreator;
+    }
+
     @Bean
     public OrderControllerV2 orderControllerV2(LogTrace logTrace){
-        OrderControllerV2 orderController = new OrderControllerV2(orderService(logTrace));
+        OrderServiceV2 orderService = orderService(logTrace);
+        OrderControllerV2 proxy = lazyProxyCreator.createProxy(OrderControllerV2.class, () -> new OrderControllerV2(orderService), getAdvisor(logTrace));
 
-        ProxyFactory factory = new ProxyFactory(orderController);
-        factory.addAdvisor(getAdvisor(logTrace));
-        OrderControllerV2 proxy = (OrderControllerV2) factory.getProxy();
-
-        log.info("ProxyFactory proxy={}, target={}", proxy.getClass(), orderController.getClass());
+        log.info("ProxyFactory proxy={}, target={}", proxy.getClass(), OrderControllerV2.class);
         return proxy;
     }
     @Bean
     public OrderServiceV2 orderService(LogTrace logTrace){
-        OrderServiceV2 orderService = new OrderServiceV2(orderRepository(logTrace));
-
-        ProxyFactory factory = new ProxyFactory(orderService);
-        factory.addAdvisor(getAdvisor(logTrace));
-        OrderServiceV2 proxy = (OrderServiceV2) factory.getProxy();
+        OrderRepositoryV2 orderRepository = orderRepository(logTrace);
+        OrderServiceV2 proxy = lazyProxyCreator.createProxy(OrderServiceV2.class, () -> new OrderServiceV2(orderRepository), getAdvisor(logTrace));
 
-        log.info("ProxyFactory proxy={}, target={}", proxy.getClass(), orderService.getClass());
+        log.info("ProxyFactory proxy={}, target={}", proxy.getClass(), OrderServiceV2.class);
         return proxy;
     }
     @Bean
     public OrderRepositoryV2 orderRepository(LogTrace logTrace) {
-        OrderRepositoryV2 orderRepository = new OrderRepositoryV2();
-
-        ProxyFactory factory = new ProxyFactory(orderRepository);
-        factory.addAdvisor(getAdvisor(logTrace));
-        OrderRepositoryV2 proxy = (OrderRepositoryV2) factory.getProxy();
+        OrderRepositoryV2 proxy = lazyProxyCreator.createProxy(OrderRepositoryV2.class, OrderRepositoryV2::new, getAdvisor(logTrace));
 
-        log.info("ProxyFactory proxy={}, target={}", proxy.getClass(), orderRepository.getClass());
+        log.info("ProxyFactory proxy={}, target={}", proxy.getClass(), OrderRepositoryV2.class);
         return proxy;
     }
 
@@ -55,7 +57,7 @@ public class ProxyFactoryConfigV2 {
         NameMatchMethodPointcut pointcut = new NameMatchMethodPointcut();
         pointcut.setMappedNames("request*", "order*", "save*");
         // advice
-        LogTraceAdvice advice = new LogTraceAdvice(logTrace);
+        LogTraceAdvice advice = new LogTraceAdvice(logTrace, traceMethodCache);
         return new DefaultPointcutAdvisor(pointcut, advice);
     }
 }
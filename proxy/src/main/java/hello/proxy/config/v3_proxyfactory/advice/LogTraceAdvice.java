@@ -1,17 +1,22 @@
 package hello.proxy.config.v3_proxyfactory.advice;
 
+import hello.proxy.trace.TraceMethodCache;
 import hello.proxy.trace.TraceStatus;
 import hello.proxy.trace.logtrace.LogTrace;
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
 
-import java.lang.reflect.Method;
-
 public class LogTraceAdvice implements MethodInterceptor {
     private final LogTrace logTrace;
+    private final TraceMethodCache traceMethodCache;
 
     public LogTraceAdvice(LogTrace logTrace) {
+        this(logTrace, new TraceMethodCache());
+    }
+
+    public LogTraceAdvice(LogTrace logTrace, TraceMethodCache traceMethodCache) {
         this.logTrace = logTrace;
+        this.traceMethodCache = traceMethodCache;
     }
 
     @Override
@@ -19,8 +24,7 @@ public class LogTraceAdvice implements MethodInterceptor {
         TraceStatus status = null;
 
         try {
-            Method method = invocation.getMethod();
-            String message =  method.getDeclaringClass().getSimpleName() + "." + method.getName() + "()";
+            String message = traceMethodCache.get(invocation.getMethod()).getMessage();
             status = logTrace.begin(message);
 
             // 로직 호출
@@ -2,8 +2,12 @@ package hello.proxy.config.v4_postprocessor;
 
 import hello.proxy.config.AppV1Config;
 import hello.proxy.config.AppV2Config;
+import hello.proxy.config.index.IndexedPointcut;
+import hello.proxy.config.index.PointcutIndex;
+import hello.proxy.config.index.PointcutIndexConfig;
 import hello.proxy.config.v3_proxyfactory.advice.LogTraceAdvice;
 import hello.proxy.config.v4_postprocessor.postprocessor.PackageLogTracePostProcessor;
+import hello.proxy.trace.TraceMethodCache;
 import hello.proxy.trace.logtrace.LogTrace;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.aop.Advisor;
@@ -15,19 +19,22 @@ import org.springframework.context.annotation.Import;
 
 @Slf4j
 @Configuration
-@Import({AppV1Config.class, AppV2Config.class})
+@Import({AppV1Config.class, AppV2Config.class, PointcutIndexConfig.class})
 public class BeanPostProcessorConfig {
+    private final TraceMethodCache traceMethodCache = new TraceMethodCache();
+
     @Bean
-    public PackageLogTracePostProcessor logTracePostProcessor(LogTrace logTrace){
-        return new PackageLogTracePostProcessor("hello.proxy.app", getAdvisor(logTrace));
+    public PackageLogTracePostProcessor logTracePostProcessor(LogTrace logTrace, PointcutIndex pointcutIndex){
+        return new PackageLogTracePostProcessor("hello.proxy.app", getAdvisor(logTrace, pointcutIndex));
     }
 
-    private Advisor getAdvisor(LogTrace logTrace) {
+    private Advisor getAdvisor(LogTrace logTrace, PointcutIndex pointcutIndex) {
         // pointcut
+        String[] mappedNames = {"request*", "order*", "save*"};
         NameMatchMethodPointcut pointcut = new NameMatchMethodPointcut();
-        pointcut.setMappedNames("request*", "order*", "save*");
+        pointcut.setMappedNames(mappedNames);
         // advice
-        LogTraceAdvice advice = new LogTraceAdvice(logTrace);
-        return new DefaultPointcutAdvisor(pointcut, advice);
+        LogTraceAdvice advice = new LogTraceAdvice(logTrace, traceMethodCache);
+        return new DefaultPointcutAdvisor(new IndexedPointcut("v4:" + String.join(",", mappedNames), pointcut, pointcutIndex), advice);
     }
 }
@@ -1,5 +1,6 @@
 package hello.proxy.config.v4_postprocessor.postprocessor;
 
+import hello.proxy.config.index.IndexedPointcut;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.aop.Advisor;
 import org.springframework.aop.framework.ProxyFactory;
@@ -18,7 +19,8 @@ public class PackageLogTracePostProcessor implements BeanPostProcessor {
 
     @Override
     public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
-        log.info("param beanName={} bean={}", beanName, bean.getClass());
+        // 빈마다 남기면 빈이 많을 때 기동이 느려진다.
+        log.trace("param beanName={} bean={}", beanName, bean.getClass());
 
         // 프록시 적용 대상 여부 체크
         // 프록시 적용 대상이 아니면 원본을 그대로 진행
@@ -26,6 +28,11 @@ public class PackageLogTracePostProcessor implements BeanPostProcessor {
         if(!packageName.startsWith(basePackage)) {
             return bean;
         }
+        // advisor 가 적용될 메서드가 하나도 없으면 프록시를 만들지 않는다. (IndexedPointcut 이면 클래스당 한 번만 계산)
+        // 예전에는 패키지만 맞으면 모두 프록시로 감쌌다. 이제 이런 빈은 원본 그대로 등록된다.
+        if (!IndexedPointcut.canApply(advisor, bean.getClass())) {
+            return bean;
+        }
 
         // 프록시 대상이면 프록시를 만들어서 반환
         ProxyFactory proxyFactory = new ProxyFactory(bean);
@@ -2,7 +2,11 @@ package hello.proxy.config.v5_autoproxy;
 
 import hello.proxy.config.AppV1Config;
 import hello.proxy.config.AppV2Config;
+import hello.proxy.config.index.IndexedPointcut;
+import hello.proxy.config.index.PointcutIndex;
+import hello.proxy.config.index.PointcutIndexConfig;
 import hello.proxy.config.v3_proxyfactory.advice.LogTraceAdvice;
+import hello.proxy.trace.TraceMethodCache;
 import hello.proxy.trace.logtrace.LogTrace;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.aop.Advisor;
@@ -15,8 +19,10 @@ import org.springframework.context.annotation.Import;
 
 @Configuration
 @Slf4j
-@Import({AppV1Config.class, AppV2Config.class})
+@Import({AppV1Config.class, AppV2Config.class, PointcutIndexConfig.class})
 public class AutoProxyConfig {
+    private final TraceMethodCache traceMethodCache = new TraceMethodCache();
+
 
 //    @Bean
     public Advisor advisor1(LogTrace logTrace){
@@ -24,7 +30,7 @@ public class AutoProxyConfig {
         NameMatchMethodPointcut pointcut = new NameMatchMethodPointcut();
         pointcut.setMappedNames("request*", "order*", "save*");
         // advice
-        LogTraceAdvice advice = new LogTraceAdvice(logTrace);
+        LogTraceAdvice advice = new LogTraceAdvice(logTrace, traceMethodCache);
         return new DefaultPointcutAdvisor(pointcut, advice);
     }
 
@@ -35,17 +41,18 @@ public class AutoProxyConfig {
         AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
         pointcut.setExpression("execution(* hello.proxy.app..*(..))");
         // advice
-        LogTraceAdvice advice = new LogTraceAdvice(logTrace);
+        LogTraceAdvice advice = new LogTraceAdvice(logTrace, traceMethodCache);
         return new DefaultPointcutAdvisor(pointcut, advice);
     }
 
     @Bean
-    public Advisor advisor3(LogTrace logTrace) {
+    public Advisor advisor3(LogTrace logTrace, PointcutIndex pointcutIndex) {
         // pointcut
         AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
         pointcut.setExpression("execution(* hello.proxy.app..*(..)) && !execution(* hello.proxy.app..noLog(..))");
         // advice
-        LogTraceAdvice advice = new LogTraceAdvice(logTrace);
-        return new DefaultPointcutAdvisor(pointcut, advice);
+        LogTraceAdvice advice = new LogTraceAdvice(logTrace, traceMethodCache);
+        // 빈마다 표현식을 평가하지 않도록 인덱스로 감싼다. (클래스당 한 번만 계산)
+        return new DefaultPointcutAdvisor(new IndexedPointcut(pointcut.getExpression(), pointcut, pointcutIndex), advice);
     }
 }
@@ -1,26 +1,36 @@
 package hello.proxy.config.v6_aop.aspect;
 
+import hello.proxy.trace.TraceMethodCache;
 import hello.proxy.trace.TraceStatus;
 import hello.proxy.trace.logtrace.LogTrace;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 
 @Slf4j
 @Aspect
 public class LogTraceAspect {
     private final LogTrace logTrace;
+    private final TraceMethodCache traceMethodCache;
 
     public LogTraceAspect(LogTrace logTrace) {
+        this(logTrace, new TraceMethodCache());
+    }
+
+    public LogTraceAspect(LogTrace logTrace, TraceMethodCache traceMethodCache) {
         this.logTrace = logTrace;
+        this.traceMethodCache = traceMethodCache;
     }
 
     @Around("execution(* hello.proxy.app..*(..))")
     public Object execute(ProceedingJoinPoint joinPoint) throws Throwable{
         TraceStatus status = null;
         try {
-            String message = joinPoint.getSignature().toShortString();
+            // toShortString() 은 호출마다 문자열을 새로 만든다.
+            MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+            String message = traceMethodCache.get(signature.getMethod()).getMessage();
             status = logTrace.begin(message);
 
             // 로직 호출
@@ -0,0 +1,22 @@
+package hello.proxy.trace;
+
+/**
+ * 메서드 하나에 대해 미리 계산해 둔 span 이름과 로그를 남길지 여부
+ */
+public class TraceMethod {
+    private final String message;
+    private final boolean traced;
+
+    public TraceMethod(String message, boolean traced) {
+        this.message = message;
+        this.traced = traced;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public boolean isTraced() {
+        return traced;
+    }
+}
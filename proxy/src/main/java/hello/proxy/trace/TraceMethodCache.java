@@ -0,0 +1,39 @@
+package hello.proxy.trace;
+
+import org.springframework.util.PatternMatchUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 메서드별로 "클래스명.메서드명()" 과 패턴 매칭 결과를 처음 호출될 때 한 번만 계산한다.
+ * 이후 호출은 map 조회 한 번이다. 여러 프록시가 하나를 같이 써도 된다.
+ */
+public class TraceMethodCache {
+    private final String[] patterns; // null 이면 모든 메서드의 로그를 남긴다.
+    private final Map<Method, TraceMethod> cache = new ConcurrentHashMap<>();
+
+    public TraceMethodCache() {
+        this(null);
+    }
+
+    public TraceMethodCache(String[] patterns) {
+        this.patterns = patterns;
+    }
+
+    public TraceMethod get(Method method) {
+        // 이미 있으면 computeIfAbsent 의 락을 타지 않는다.
+        TraceMethod traceMethod = cache.get(method);
+        if (traceMethod == null) {
+            traceMethod = cache.computeIfAbsent(method, this::create);
+        }
+        return traceMethod;
+    }
+
+    private TraceMethod create(Method method) {
+        String message = method.getDeclaringClass().getSimpleName() + "." + method.getName() + "()";
+        boolean traced = patterns == null || PatternMatchUtils.simpleMatch(patterns, method.getName());
+        return new TraceMethod(message, traced);
+    }
+}
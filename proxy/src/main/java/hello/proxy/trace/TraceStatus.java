@@ -1,26 +1,32 @@
 package hello.proxy.trace;
 
 public class TraceStatus {
-
     private TraceId traceId;
-    private Long startTimeMs;
+    private long startTimeNs; // System.nanoTime()
     private String message;
 
-    public TraceStatus(TraceId traceId, Long startTimeMs, String message) {
+    public TraceStatus(TraceId traceId, long startTimeNs, String message) {
         this.traceId = traceId;
-        this.startTimeMs = startTimeMs;
+        this.startTimeNs = startTimeNs;
         this.message = message;
     }
 
-    public Long getStartTimeMs() {
-        return startTimeMs;
-    }
-
-    public String getMessage() {
-        return message;
+    // TraceStatusPool 에서 재사용할 때만 호출
+    void reset(TraceId traceId, long startTimeNs, String message) {
+        this.traceId = traceId;
+        this.startTimeNs = startTimeNs;
+        this.message = message;
     }
 
     public TraceId getTraceId() {
         return traceId;
     }
+
+    public long getStartTimeNs() {
+        return startTimeNs;
+    }
+
+    public String getMessage() {
+        return message;
+    }
 }
@@ -2,25 +2,39 @@ package hello.proxy.trace.logtrace;
 
 import hello.proxy.trace.TraceId;
 import hello.proxy.trace.TraceStatus;
+import hello.proxy.trace.TraceStatusPool;
+import hello.proxy.trace.TraceTime;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
-public class ThreadLocalLogTrace implements LogTrace {
+public class ThreadLocalLogTrace implements LogTrace, TraceContextHolder {
 
     private static final String START_PREFIX = "-->";
     private static final String COMPLETE_PREFIX = "<--";
     private static final String EX_PREFIX = "<X-";
 
     private ThreadLocal<TraceId> traceIdHolder = new ThreadLocal<>();
+    private final TraceStatusPool statusPool;
+
+    public ThreadLocalLogTrace() {
+        this(null);
+    }
+
+    /**
+     * statusPool 을 넘기면 end() 이후의 TraceStatus 를 재사용한다.
+     */
+    public ThreadLocalLogTrace(TraceStatusPool statusPool) {
+        this.statusPool = statusPool;
+    }
 
     @Override
     public TraceStatus begin(String message) {
         syncTraceId();
         TraceId traceId = traceIdHolder.get();
-        Long startTimeMs = System.currentTimeMillis();
+        long startTimeNs = System.nanoTime();
         log.info("[{}] {}{}", traceId.getId(), addSpace(START_PREFIX, traceId.getLevel()), message);
 
-        return new TraceStatus(traceId, startTimeMs, message);
+        return statusPool == null ? new TraceStatus(traceId, startTimeNs, message) : statusPool.acquire(traceId, startTimeNs, message);
     }
 
     @Override
@@ -34,16 +48,18 @@ public class ThreadLocalLogTrace implements LogTrace {
     }
 
     private void complete(TraceStatus status, Exception e) {
-        Long stopTimeMs = System.currentTimeMillis();
-        long resultTimeMs = stopTimeMs - status.getStartTimeMs();
+        long resultTimeNs = System.nanoTime() - status.getStartTimeNs();
         TraceId traceId = status.getTraceId();
         if (e == null) {
-            log.info("[{}] {}{} time={}ms", traceId.getId(), addSpace(COMPLETE_PREFIX, traceId.getLevel()), status.getMessage(), resultTimeMs);
+            log.info("[{}] {}{} time={}ms", traceId.getId(), addSpace(COMPLETE_PREFIX, traceId.getLevel()), status.getMessage(), TraceTime.toMillis(resultTimeNs));
         } else {
-            log.info("[{}] {}{} time={}ms ex={}", traceId.getId(), addSpace(EX_PREFIX, traceId.getLevel()), status.getMessage(), resultTimeMs, e.toString());
+            log.info("[{}] {}{} time={}ms ex={}", traceId.getId(), addSpace(EX_PREFIX, traceId.getLevel()), status.getMessage(), TraceTime.toMillis(resultTimeNs), e.toString());
         }
 
         releaseTraceId();
+        if (statusPool != null) {
+            statusPool.release(status);
+        }
     }
 
     private void syncTraceId() {
@@ -64,6 +80,20 @@ public class ThreadLocalLogTrace implements LogTrace {
         }
     }
 
+    @Override
+    public TraceId getTraceId() {
+        return traceIdHolder.get();
+    }
+
+    @Override
+    public void setTraceId(TraceId traceId) {
+        if (traceId == null) {
+            traceIdHolder.remove();
+        } else {
+            traceIdHolder.set(traceId);
+        }
+    }
+
     private static String addSpace(String prefix, int level) {
         StringBuilder sb = new StringBuilder();
         for (int i = 0; i < level; i++) {
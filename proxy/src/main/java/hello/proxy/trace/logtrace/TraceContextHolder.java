@@ -0,0 +1,16 @@
+package hello.proxy.trace.logtrace;
+
+import hello.proxy.trace.TraceId;
+
+/**
+ * 현재 쓰레드의 TraceId 를 꺼내고 다시 넣을 수 있는 LogTrace
+ * 다른 쓰레드로 작업을 넘길 때 trace 를 이어주기 위해 사용한다.
+ */
+public interface TraceContextHolder {
+    TraceId getTraceId();
+
+    /**
+     * null 이면 현재 쓰레드의 TraceId 를 제거한다.
+     */
+    void setTraceId(TraceId traceId);
+}
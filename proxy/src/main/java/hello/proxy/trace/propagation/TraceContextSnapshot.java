@@ -0,0 +1,52 @@
+package hello.proxy.trace.propagation;
+
+import hello.proxy.trace.TraceId;
+import hello.proxy.trace.logtrace.TraceContextHolder;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 작업을 넘기는 시점의 TraceId 를 잡아두었다가, 작업을 실행하는 쓰레드에 다시 넣어준다.
+ * 작업이 끝나면 실행 쓰레드의 원래 TraceId 로 되돌린다.
+ */
+public class TraceContextSnapshot {
+    private final TraceContextHolder holder;
+    private final TraceId traceId;
+
+    private TraceContextSnapshot(TraceContextHolder holder, TraceId traceId) {
+        this.holder = holder;
+        this.traceId = traceId;
+    }
+
+    public static TraceContextSnapshot capture(TraceContextHolder holder) {
+        return new TraceContextSnapshot(holder, holder.getTraceId());
+    }
+
+    public TraceId getTraceId() {
+        return traceId;
+    }
+
+    public Runnable wrap(Runnable task) {
+        return () -> {
+            TraceId previous = holder.getTraceId();
+            holder.setTraceId(traceId);
+            try {
+                task.run();
+            } finally {
+                holder.setTraceId(previous);
+            }
+        };
+    }
+
+    public <T> Callable<T> wrap(Callable<T> task) {
+        return () -> {
+            TraceId previous = holder.getTraceId();
+            holder.setTraceId(traceId);
+            try {
+                return task.call();
+            } finally {
+                holder.setTraceId(previous);
+            }
+        };
+    }
+}
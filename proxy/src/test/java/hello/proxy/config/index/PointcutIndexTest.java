@@ -0,0 +1,125 @@
+package hello.proxy.config.index;
+
+import hello.proxy.common.advice.TimeAdvice;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.MethodMatcher;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.NameMatchMethodPointcut;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PointcutIndexTest {
+    PointcutIndex pointcutIndex = new PointcutIndex();
+
+    // ClassFilter, MethodMatcher 가 몇 번 불렸는지 센다.
+    static class CountingPointcut implements Pointcut {
+        private final Pointcut delegate;
+        int classFilterCount;
+        int methodMatcherCount;
+
+        CountingPointcut(Pointcut delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public ClassFilter getClassFilter() {
+            return clazz -> {
+                classFilterCount++;
+                return delegate.getClassFilter().matches(clazz);
+            };
+        }
+
+        @Override
+        public MethodMatcher getMethodMatcher() {
+            MethodMatcher methodMatcher = delegate.getMethodMatcher();
+            return new MethodMatcher() {
+                @Override
+                public boolean matches(Method method, Class<?> targetClass) {
+                    methodMatcherCount++;
+                    return methodMatcher.matches(method, targetClass);
+                }
+
+                @Override
+                public boolean isRuntime() {
+                    return methodMatcher.isRuntime();
+                }
+
+                @Override
+                public boolean matches(Method method, Class<?> targetClass, Object... args) {
+                    return methodMatcher.matches(method, targetClass, args);
+                }
+            };
+        }
+    }
+
+    private NameMatchMethodPointcut addPointcut() {
+        NameMatchMethodPointcut pointcut = new NameMatchMethodPointcut();
+        pointcut.setMappedName("add*");
+        return pointcut;
+    }
+
+    @Test
+    void cached_per_class() {
+        CountingPointcut counting = new CountingPointcut(addPointcut());
+        Pointcut pointcut = new IndexedPointcut("add", counting, pointcutIndex);
+
+        assertThat(AopUtils.canApply(pointcut, ArrayList.class)).isTrue();
+        assertThat(AopUtils.canApply(pointcut, ArrayList.class)).isTrue();
+        assertThat(AopUtils.canApply(pointcut, StringUtils.class)).isFalse();
+        assertThat(AopUtils.canApply(pointcut, StringUtils.class)).isFalse();
+
+        assertThat(counting.classFilterCount).isEqualTo(2);
+        assertThat(pointcutIndex.getLookupCount()).isEqualTo(4);
+        assertThat(pointcutIndex.getEvaluatedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void directory_class_cached() {
+        // 테스트 클래스는 디렉토리에서 읽는다. 위치와 상관없이 Class 로 기억한다.
+        Pointcut pointcut = new IndexedPointcut("add", addPointcut(), pointcutIndex);
+        AopUtils.canApply(pointcut, PointcutIndexTest.class);
+        AopUtils.canApply(pointcut, PointcutIndexTest.class);
+
+        assertThat(pointcutIndex.getLookupCount()).isEqualTo(2);
+        assertThat(pointcutIndex.getEvaluatedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void evaluated_once_on_miss() {
+        CountingPointcut plain = new CountingPointcut(addPointcut());
+        AopUtils.canApply(plain, ArrayList.class);
+
+        // 처음 보는 클래스도 AopUtils.canApply() 한 번만큼만 메서드를 매칭한다.
+        CountingPointcut counting = new CountingPointcut(addPointcut());
+        Advisor advisor = new DefaultPointcutAdvisor(new IndexedPointcut("add", counting, pointcutIndex), new TimeAdvice());
+        assertThat(IndexedPointcut.canApply(advisor, ArrayList.class)).isTrue();
+        assertThat(counting.methodMatcherCount).isEqualTo(plain.methodMatcherCount);
+
+        assertThat(IndexedPointcut.canApply(advisor, ArrayList.class)).isTrue();
+        assertThat(counting.methodMatcherCount).isEqualTo(plain.methodMatcherCount);
+    }
+
+    @Test
+    void separated_by_key() {
+        NameMatchMethodPointcut removePointcut = new NameMatchMethodPointcut();
+        removePointcut.setMappedName("remove*");
+        Pointcut add = new IndexedPointcut("add", addPointcut(), pointcutIndex);
+        Pointcut remove = new IndexedPointcut("remove", removePointcut, pointcutIndex);
+
+        assertThat(AopUtils.canApply(add, StringUtils.class)).isFalse();
+        assertThat(AopUtils.canApply(remove, ArrayList.class)).isTrue();
+        assertThat(pointcutIndex.getEvaluatedCount()).isEqualTo(2);
+
+        assertThatThrownBy(() -> new IndexedPointcut("add", addPointcut(), pointcutIndex))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
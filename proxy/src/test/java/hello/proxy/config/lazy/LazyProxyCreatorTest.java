@@ -0,0 +1,106 @@
+package hello.proxy.config.lazy;
+
+import hello.proxy.common.advice.TimeAdvice;
+import hello.proxy.common.service.ConcreteService;
+import hello.proxy.common.service.ServiceImpl;
+import hello.proxy.common.service.ServiceInterface;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LazyProxyCreatorTest {
+    Advisor advisor = new DefaultPointcutAdvisor(Pointcut.TRUE, new TimeAdvice());
+    AtomicInteger targetCount = new AtomicInteger();
+
+    private ServiceImpl newTarget() {
+        targetCount.incrementAndGet();
+        return new ServiceImpl();
+    }
+
+    @Test
+    void materialize_on_first_call() {
+        LazyProxyCreator creator = new LazyProxyCreator(true);
+        ServiceInterface proxy = creator.createProxy(ServiceImpl.class, this::newTarget, advisor);
+
+        // 프록시는 하나, target 은 아직 없다.
+        assertThat(AopUtils.isJdkDynamicProxy(proxy)).isTrue();
+        LazyTargetSource targetSource = (LazyTargetSource) ((Advised) proxy).getTargetSource();
+        assertThat(targetSource.isMaterialized()).isFalse();
+        assertThat(targetCount).hasValue(0);
+
+        proxy.save();
+        proxy.find();
+        assertThat(targetSource.isMaterialized()).isTrue();
+        assertThat(targetSource.getTarget()).isInstanceOf(ServiceImpl.class);
+        assertThat(targetCount).hasValue(1);
+        assertThat(creator.getCreatedCount()).isEqualTo(1);
+        assertThat(creator.getMaterializedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void materialize_once_concurrently() throws InterruptedException {
+        LazyProxyCreator creator = new LazyProxyCreator(true);
+        ServiceInterface proxy = creator.createProxy(ServiceImpl.class, this::newTarget, advisor);
+
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Throwable> errors = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    proxy.save();
+                } catch (Throwable e) {
+                    synchronized (errors) {
+                        errors.add(e);
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(errors).isEmpty();
+        assertThat(targetCount).hasValue(1);
+        assertThat(creator.getMaterializedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void concrete_class_lazy() {
+        // 인터페이스가 없으면 CGLIB 프록시 하나에 target 만 늦게 만든다.
+        LazyProxyCreator creator = new LazyProxyCreator(true);
+        ConcreteService proxy = creator.createProxy(ConcreteService.class, ConcreteService::new, advisor);
+
+        assertThat(AopUtils.isCglibProxy(proxy)).isTrue();
+        assertThat(creator.getMaterializedCount()).isZero();
+
+        proxy.call();
+        assertThat(creator.getMaterializedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void lazy_off() {
+        LazyProxyCreator creator = new LazyProxyCreator(false);
+        ServiceInterface proxy = creator.createProxy(ServiceImpl.class, this::newTarget, advisor);
+
+        assertThat(AopUtils.isJdkDynamicProxy(proxy)).isTrue();
+        assertThat(((Advised) proxy).getTargetSource()).isNotInstanceOf(LazyTargetSource.class);
+        assertThat(targetCount).hasValue(1);
+        assertThat(creator.getMaterializedCount()).isEqualTo(1);
+    }
+}
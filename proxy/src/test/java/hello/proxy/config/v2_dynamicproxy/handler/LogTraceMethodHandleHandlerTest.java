@@ -0,0 +1,106 @@
+package hello.proxy.config.v2_dynamicproxy.handler;
+
+import hello.proxy.trace.TraceMethodCache;
+import hello.proxy.trace.TraceStatus;
+import hello.proxy.trace.logtrace.LogTrace;
+import hello.proxy.trace.logtrace.ThreadLocalLogTrace;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LogTraceMethodHandleHandlerTest {
+
+    interface ItemService {
+        String find(String itemId);
+
+        int count();
+
+        void noLog();
+    }
+
+    static class ItemServiceImpl implements ItemService {
+        @Override
+        public String find(String itemId) {
+            if (itemId.equals("ex")) {
+                throw new IllegalStateException("예외 발생!");
+            }
+            return "item-" + itemId;
+        }
+
+        @Override
+        public int count() {
+            return 3;
+        }
+
+        @Override
+        public void noLog() {
+        }
+    }
+
+    // exception() 에 넘어온 예외를 모아둔다.
+    static class RecordingLogTrace implements LogTrace {
+        private final LogTrace delegate = new ThreadLocalLogTrace();
+        private final List<String> messages = new ArrayList<>();
+        private final List<Exception> exceptions = new ArrayList<>();
+
+        @Override
+        public TraceStatus begin(String message) {
+            messages.add(message);
+            return delegate.begin(message);
+        }
+
+        @Override
+        public void end(TraceStatus status) {
+            delegate.end(status);
+        }
+
+        @Override
+        public void exception(TraceStatus status, Exception e) {
+            exceptions.add(e);
+            delegate.exception(status, e);
+        }
+    }
+
+    RecordingLogTrace logTrace = new RecordingLogTrace();
+
+    private ItemService proxy(TraceMethodCache traceMethodCache) {
+        return (ItemService) Proxy.newProxyInstance(ItemService.class.getClassLoader(),
+                new Class[]{ItemService.class},
+                new LogTraceMethodHandleHandler(new ItemServiceImpl(), logTrace, traceMethodCache));
+    }
+
+    @Test
+    void invoke() {
+        ItemService proxy = proxy(new TraceMethodCache());
+
+        assertThat(proxy.find("A")).isEqualTo("item-A");
+        assertThat(proxy.count()).isEqualTo(3);
+        assertThat(logTrace.messages).containsExactly("ItemService.find()", "ItemService.count()");
+    }
+
+    @Test
+    void exception_unwrapped() {
+        ItemService proxy = proxy(new TraceMethodCache());
+
+        // Method.invoke() 였다면 InvocationTargetException 이 UndeclaredThrowableException 으로 감싸져 나온다.
+        assertThatThrownBy(() -> proxy.find("ex"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("예외 발생!");
+        assertThat(logTrace.exceptions).hasSize(1);
+        assertThat(logTrace.exceptions.get(0)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void filter() {
+        ItemService proxy = proxy(new TraceMethodCache(new String[]{"find*"}));
+
+        proxy.find("A");
+        proxy.noLog();
+        assertThat(logTrace.messages).containsExactly("ItemService.find()");
+    }
+}
@@ -0,0 +1,55 @@
+package hello.proxy.config.v4_postprocessor.postprocessor;
+
+import hello.proxy.common.advice.TimeAdvice;
+import hello.proxy.common.service.ConcreteService;
+import hello.proxy.common.service.ServiceImpl;
+import hello.proxy.config.index.IndexedPointcut;
+import hello.proxy.config.index.PointcutIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.NameMatchMethodPointcut;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PackageLogTracePostProcessorTest {
+    PointcutIndex pointcutIndex = new PointcutIndex();
+    PackageLogTracePostProcessor postProcessor = new PackageLogTracePostProcessor("hello.proxy.common", advisor());
+
+    private DefaultPointcutAdvisor advisor() {
+        NameMatchMethodPointcut pointcut = new NameMatchMethodPointcut();
+        pointcut.setMappedName("save*");
+        return new DefaultPointcutAdvisor(new IndexedPointcut("save", pointcut, pointcutIndex), new TimeAdvice());
+    }
+
+    @Test
+    void proxy_when_method_matched() {
+        Object bean = postProcessor.postProcessAfterInitialization(new ServiceImpl(), "serviceImpl");
+        assertThat(AopUtils.isAopProxy(bean)).isTrue();
+    }
+
+    @Test
+    void no_proxy_without_matched_method() {
+        // 패키지는 맞지만 save* 메서드가 없으면 원본을 그대로 돌려준다.
+        ConcreteService target = new ConcreteService();
+        Object bean = postProcessor.postProcessAfterInitialization(target, "concreteService");
+        assertThat(bean).isSameAs(target);
+    }
+
+    @Test
+    void no_proxy_outside_package() {
+        StringBuilder target = new StringBuilder();
+        assertThat(postProcessor.postProcessAfterInitialization(target, "stringBuilder")).isSameAs(target);
+        assertThat(pointcutIndex.getLookupCount()).isZero();
+    }
+
+    @Test
+    void evaluated_once_per_class() {
+        postProcessor.postProcessAfterInitialization(new ServiceImpl(), "serviceImpl1");
+        postProcessor.postProcessAfterInitialization(new ServiceImpl(), "serviceImpl2");
+        postProcessor.postProcessAfterInitialization(new ConcreteService(), "concreteService");
+
+        assertThat(pointcutIndex.getLookupCount()).isEqualTo(3);
+        assertThat(pointcutIndex.getEvaluatedCount()).isEqualTo(2);
+    }
+}
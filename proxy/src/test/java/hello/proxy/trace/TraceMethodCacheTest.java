@@ -0,0 +1,32 @@
+package hello.proxy.trace;
+
+import hello.proxy.app.v1.OrderRepositoryV1;
+import hello.proxy.app.v1.OrderServiceV1;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TraceMethodCacheTest {
+
+    @Test
+    void message() throws NoSuchMethodException {
+        TraceMethodCache cache = new TraceMethodCache();
+        Method save = OrderRepositoryV1.class.getMethod("save", String.class);
+
+        TraceMethod traceMethod = cache.get(save);
+        assertThat(traceMethod.getMessage()).isEqualTo("OrderRepositoryV1.save()");
+        assertThat(traceMethod.isTraced()).isTrue();
+        // 두 번째부터는 같은 인스턴스
+        assertThat(cache.get(save)).isSameAs(traceMethod);
+    }
+
+    @Test
+    void patterns() throws NoSuchMethodException {
+        TraceMethodCache cache = new TraceMethodCache(new String[]{"request*", "order*", "save*"});
+
+        assertThat(cache.get(OrderServiceV1.class.getMethod("orderItem", String.class)).isTraced()).isTrue();
+        assertThat(cache.get(Object.class.getMethod("toString")).isTraced()).isFalse();
+    }
+}
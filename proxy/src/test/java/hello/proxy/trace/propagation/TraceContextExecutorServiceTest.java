@@ -0,0 +1,93 @@
+package hello.proxy.trace.propagation;
+
+import hello.proxy.trace.TraceStatus;
+import hello.proxy.trace.logtrace.ThreadLocalLogTrace;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TraceContextExecutorServiceTest {
+    ThreadLocalLogTrace trace = new ThreadLocalLogTrace();
+    ExecutorService executor = TraceExecutors.wrap(Executors.newFixedThreadPool(2), trace);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void nested_under_parent() throws ExecutionException, InterruptedException {
+        TraceStatus parent = trace.begin("OrderService.orderItem()");
+        List<Future<TraceStatus>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(executor.submit(() -> {
+                TraceStatus child = trace.begin("OrderRepository.save()");
+                trace.end(child);
+                return child;
+            }));
+        }
+        for (Future<TraceStatus> future : futures) {
+            TraceStatus child = future.get();
+            assertThat(child.getTraceId().getId()).isEqualTo(parent.getTraceId().getId());
+            assertThat(child.getTraceId().getLevel()).isEqualTo(1);
+        }
+        trace.end(parent);
+        assertThat(trace.getTraceId()).isNull();
+    }
+
+    @Test
+    void completable_future() {
+        TraceStatus parent = trace.begin("OrderService.orderItem()");
+        TraceStatus child = CompletableFuture.supplyAsync(() -> {
+            TraceStatus status = trace.begin("OrderRepository.save()");
+            trace.end(status);
+            return status;
+        }, executor).join();
+        trace.end(parent);
+
+        assertThat(child.getTraceId().getId()).isEqualTo(parent.getTraceId().getId());
+        assertThat(child.getTraceId().getLevel()).isEqualTo(1);
+    }
+
+    @Test
+    void worker_restored_after_task() throws ExecutionException, InterruptedException {
+        ExecutorService single = TraceExecutors.wrap(Executors.newSingleThreadExecutor(), trace);
+        try {
+            TraceStatus parent = trace.begin("OrderService.orderItem()");
+            single.submit(() -> trace.end(trace.begin("OrderRepository.save()"))).get();
+            trace.end(parent);
+
+            assertThat(single.submit(() -> trace.getTraceId()).get()).isNull();
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    @Test
+    void virtual_thread_per_task() throws ExecutionException, InterruptedException {
+        ExecutorService virtual = TraceExecutors.virtualThreadPerTask(trace);
+        try {
+            TraceStatus parent = trace.begin("OrderService.orderItem()");
+            TraceStatus child = virtual.submit(() -> {
+                TraceStatus status = trace.begin("OrderRepository.save()");
+                trace.end(status);
+                return status;
+            }).get();
+            trace.end(parent);
+
+            assertThat(child.getTraceId().getId()).isEqualTo(parent.getTraceId().getId());
+            assertThat(child.getTraceId().getLevel()).isEqualTo(1);
+        } finally {
+            virtual.shutdown();
+        }
+    }
+}